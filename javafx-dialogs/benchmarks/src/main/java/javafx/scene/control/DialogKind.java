@@ -0,0 +1,63 @@
+package javafx.scene.control;
+
+import java.util.Arrays;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+
+/**
+ * The dialog styles built by the benchmarks, with the content each one gets.
+ */
+enum DialogKind
+{
+    SIMPLE {
+        @Override
+        void setContent(DialogTemplate<Object> template) {
+            template.setSimpleContent( MESSAGE, DialogType.INFORMATION );
+        }
+    },
+
+    ERROR {
+        @Override
+        void setContent(DialogTemplate<Object> template) {
+            template.setErrorContent( MESSAGE, new IllegalStateException( MESSAGE ) );
+        }
+    },
+
+    INPUT {
+        @Override
+        void setContent(DialogTemplate<Object> template) {
+            template.setInputContent( MESSAGE, (Object) "b", Arrays.<Object>asList( "a", "b", "c" ) );
+        }
+    },
+
+    PASSWORD {
+        @Override
+        void setContent(DialogTemplate<Object> template) {
+            template.setPasswordContent( MESSAGE );
+        }
+    },
+
+    CUSTOM {
+        @Override
+        void setContent(DialogTemplate<Object> template) {
+            Pane content = new VBox( 6 );
+            content.getChildren().addAll( new Label( MESSAGE ), new TextField(), new CheckBox( MESSAGE ) );
+            template.setCustomContent( content );
+        }
+    };
+
+    static final String MESSAGE = "The quick brown fox jumps over the lazy dog, again and again.";
+
+    /**
+     * Builds a dialog of this kind, on the JavaFX Application Thread.
+     */
+    DialogTemplate<Object> build() {
+        DialogTemplate<Object> template = new DialogTemplate<>( null, "Benchmark", "Masthead",
+                DialogOptions.OK_CANCEL );
+        setContent( template );
+        return template;
+    }
+
+    abstract void setContent(DialogTemplate<Object> template);
+}
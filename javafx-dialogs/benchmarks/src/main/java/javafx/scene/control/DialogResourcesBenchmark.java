@@ -0,0 +1,55 @@
+package javafx.scene.control;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.image.ImageView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the localized message, message format and icon lookups done while
+ * building a dialog. Lookups don't need the JavaFX Application Thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DialogResourcesBenchmark
+{
+    @Setup
+    public void startToolkit() {
+        // Images need the toolkit.
+        FxBenchmarkSupport.startToolkit();
+    }
+
+    @Benchmark
+    public String message() {
+        return DialogResources.getMessage( "common.ok.btn" );
+    }
+
+    @Benchmark
+    public String missingMessage() {
+        return DialogResources.getMessage( "no.such.key" );
+    }
+
+    @Benchmark
+    public String formattedMessage() {
+        return DialogResources.getString( "dialog.occurrences", "Error", 3 );
+    }
+
+    @Benchmark
+    public ImageView icon() {
+        return DialogResources.getIcon( "error48.image" );
+    }
+}
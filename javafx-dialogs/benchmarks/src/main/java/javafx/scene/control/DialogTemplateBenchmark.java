@@ -0,0 +1,138 @@
+package javafx.scene.control;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Parent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of building a dialog of each style, then of its CSS pass and of its
+ * first layout pass.
+ * <p>
+ * Every operation is run on the JavaFX Application Thread and includes the
+ * hand-over to that thread, measured alone by {@link #roundTrip()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DialogTemplateBenchmark
+{
+    @Param({ "SIMPLE", "ERROR", "INPUT", "PASSWORD", "CUSTOM" })
+    public DialogKind kind;
+
+    /**
+     * Whether dialog windows are reused from the pool or built every time.
+     */
+    @Param({ "false", "true" })
+    public boolean pooled;
+
+    private DialogTemplate<Object> template;
+
+    @Setup(Level.Trial)
+    public void startToolkit() {
+        FxBenchmarkSupport.startToolkit();
+        FxBenchmarkSupport.onFxThread( new Callable<Void>()
+        {
+            @Override
+            public Void call() {
+                if ( pooled ) {
+                    Dialogs.setDialogPoolLimits( 2, 8, 60000 );
+                } else {
+                    Dialogs.setDialogPoolLimits( 0, 0, 60000 );
+                }
+                return null;
+            }
+        } );
+    }
+
+    @Setup(Level.Invocation)
+    public void buildDialog() {
+        template = FxBenchmarkSupport.onFxThread( new Callable<DialogTemplate<Object>>()
+        {
+            @Override
+            public DialogTemplate<Object> call() {
+                return kind.build();
+            }
+        } );
+    }
+
+    @TearDown(Level.Invocation)
+    public void releaseDialog() {
+        FxBenchmarkSupport.onFxThread( new Callable<Void>()
+        {
+            @Override
+            public Void call() {
+                DialogPool.release( template.getDialog() );
+                return null;
+            }
+        } );
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return FxBenchmarkSupport.onFxThread( new Callable<Object>()
+        {
+            @Override
+            public Object call() {
+                return template;
+            }
+        } );
+    }
+
+    @Benchmark
+    public DialogTemplate<Object> construct() {
+        return FxBenchmarkSupport.onFxThread( new Callable<DialogTemplate<Object>>()
+        {
+            @Override
+            public DialogTemplate<Object> call() {
+                DialogTemplate<Object> built = kind.build();
+                DialogPool.release( built.getDialog() );
+                return built;
+            }
+        } );
+    }
+
+    @Benchmark
+    public Parent cssPass() {
+        return FxBenchmarkSupport.onFxThread( new Callable<Parent>()
+        {
+            @Override
+            public Parent call() {
+                Parent root = template.getDialog().getScene().getRoot();
+                FxBenchmarkSupport.applyCss( root );
+                return root;
+            }
+        } );
+    }
+
+    @Benchmark
+    public Parent cssAndFirstLayoutPass() {
+        return FxBenchmarkSupport.onFxThread( new Callable<Parent>()
+        {
+            @Override
+            public Parent call() {
+                Parent root = template.getDialog().getScene().getRoot();
+                FxBenchmarkSupport.applyCss( root );
+                root.layout();
+                return root;
+            }
+        } );
+    }
+}
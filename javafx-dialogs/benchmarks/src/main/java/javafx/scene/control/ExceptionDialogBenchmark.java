@@ -0,0 +1,111 @@
+package javafx.scene.control;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of turning large stack traces into their model, of writing them as
+ * text, and of building, styling and laying out their tree view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ExceptionDialogBenchmark
+{
+    /**
+     * Number of frames of each throwable of the trace.
+     */
+    @Param({ "100", "1000", "10000" })
+    public int frames;
+
+    /**
+     * Number of causes below the thrown exception.
+     */
+    @Param({ "1", "10" })
+    public int causes;
+
+    private Throwable throwable;
+    private StackTraceModel model;
+
+    @Setup
+    public void setUp() {
+        FxBenchmarkSupport.startToolkit();
+        throwable = deepTrace( frames, causes );
+        model = StackTraceModel.build( throwable );
+    }
+
+    @Benchmark
+    public StackTraceModel buildModel() {
+        return StackTraceModel.build( throwable );
+    }
+
+    @Benchmark
+    public int writeText() throws IOException {
+        StringBuilder text = new StringBuilder();
+        model.write( text );
+        return text.length();
+    }
+
+    /**
+     * Builds the tree view of the trace, then styles and lays it out in a
+     * scene of the size of the exception dialog. Only the visible rows get
+     * cells.
+     */
+    @Benchmark
+    public Parent buildAndLayoutTraceView() {
+        return FxBenchmarkSupport.onFxThread( new Callable<Parent>()
+        {
+            @Override
+            public Parent call() {
+                StackPane root = new StackPane();
+                root.getStyleClass().addAll( "dialog", "more-info-dialog" );
+                root.getChildren().add( ExceptionDialog.createTraceView( model ) );
+                Scene scene = new Scene( root, 800, 600 );
+                scene.getStylesheets().add( FXDialog.getStylesheet() );
+                FxBenchmarkSupport.applyCss( root );
+                root.layout();
+                return root;
+            }
+        } );
+    }
+
+    /**
+     * Builds a throwable with the given number of causes, each with the
+     * given number of frames, sharing their bottom half as real traces do.
+     */
+    static Throwable deepTrace(int frames, int causes) {
+        Throwable cause = null;
+        for ( int c = causes; c >= 0; c-- ) {
+            Throwable throwable = new IllegalStateException( "Failure " + c, cause );
+            StackTraceElement[] trace = new StackTraceElement[frames];
+            for ( int i = 0; i < frames; i++ ) {
+                boolean shared = i >= frames / 2;
+                trace[i] = new StackTraceElement( shared ? "com.example.Shared" : "com.example.Layer" + c,
+                        "call" + i, "Source.java", i + 1 );
+            }
+            throwable.setStackTrace( trace );
+            cause = throwable;
+        }
+        return cause;
+    }
+}
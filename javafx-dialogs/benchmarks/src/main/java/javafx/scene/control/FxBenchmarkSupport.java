@@ -0,0 +1,108 @@
+package javafx.scene.control;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.stage.Stage;
+
+/**
+ * Starts the JavaFX toolkit once per benchmark JVM and runs code on the
+ * JavaFX Application Thread.
+ * <p>
+ * The system properties given by the {@code benchmark.jvmArgs} build
+ * property (e.g. the headless Monocle platform) are set before the toolkit
+ * starts, so they don't need to be passed to the forked JVMs.
+ */
+final class FxBenchmarkSupport
+{
+    private static final String CONFIGURATION = "benchmark.properties";
+
+    private static final CountDownLatch started = new CountDownLatch( 1 );
+    private static boolean launched;
+
+    private FxBenchmarkSupport() {
+    }
+
+    /**
+     * The application started to get a JavaFX Application Thread, it shows
+     * nothing.
+     */
+    public static final class ToolkitApplication extends Application
+    {
+        @Override
+        public void start(Stage stage) {
+            Platform.setImplicitExit( false );
+            started.countDown();
+        }
+    }
+
+    /**
+     * Starts the JavaFX toolkit if needed and waits until it runs.
+     */
+    static synchronized void startToolkit() {
+        if ( !launched ) {
+            launched = true;
+            applySystemProperties();
+            Thread launcher = new Thread( new Runnable()
+            {
+                @Override
+                public void run() {
+                    Application.launch( ToolkitApplication.class );
+                }
+            }, "JavaFX-Launcher" );
+            launcher.setDaemon( true );
+            launcher.start();
+        }
+        try {
+            started.await();
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while starting the JavaFX toolkit", ex );
+        }
+    }
+
+    /**
+     * Runs the given task on the JavaFX Application Thread and waits for its
+     * result.
+     */
+    static <V> V onFxThread(Callable<V> task) {
+        return DialogThreads.callAndWait( task );
+    }
+
+    /**
+     * Applies the stylesheets to the given scene graph, as the first pulse
+     * showing it would.
+     */
+    static void applyCss(Parent root) {
+        root.impl_processCSS( true );
+    }
+
+    private static void applySystemProperties() {
+        Properties configuration = new Properties();
+        try ( InputStream in = FxBenchmarkSupport.class.getResourceAsStream( CONFIGURATION ) ) {
+            if ( in != null ) {
+                configuration.load( in );
+            }
+        } catch ( IOException ex ) {
+            throw new IllegalStateException( "Cannot read " + CONFIGURATION, ex );
+        }
+        for ( String arg : configuration.getProperty( "jvmArgs", "" ).trim().split( "\\s+" ) ) {
+            if ( !arg.startsWith( "-D" ) ) {
+                continue;
+            }
+            int separator = arg.indexOf( '=' );
+            String key = separator < 0 ? arg.substring( 2 ) : arg.substring( 2, separator );
+            String value = separator < 0 ? "" : arg.substring( separator + 1 );
+            // Properties given on the command line win.
+            if ( System.getProperty( key ) == null ) {
+                System.setProperty( key, value );
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package javafx.scene.control;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.javafx.css.Stylesheet;
+import com.sun.javafx.css.parser.CSSParser;
+
+/**
+ * Cold-start cost of loading the dialogs stylesheet from its text form and
+ * from the binary form compiled by the build. Each fork measures a single
+ * load, class loading included, as the first dialog of an application pays
+ * it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StylesheetBenchmark
+{
+    private static final URL CSS = FXDialog.class.getResource( "dialogs.css" );
+    private static final URL BSS = FXDialog.class.getResource( "dialogs.bss" );
+
+    @Benchmark
+    public Stylesheet parseCss() throws IOException {
+        return CSSParser.getInstance().parse( CSS );
+    }
+
+    @Benchmark
+    public Stylesheet loadBinary() throws IOException {
+        if ( BSS == null ) {
+            throw new IllegalStateException( "dialogs.bss is missing, build javafx-dialogs with Maven first" );
+        }
+        return Stylesheet.loadBinary( BSS );
+    }
+}
@@ -0,0 +1,192 @@
+package javafx.scene.control;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A search index over the string form of a list of choices.
+ * <p>
+ * The string form of every choice is computed once, when the index is built.
+ * Prefix searches are a binary search in the sorted keys and are fast enough
+ * to run on the JavaFX Application Thread while the user types; substring
+ * searches scan all keys and are meant to be run in the background.
+ * <p>
+ * Building the index of a large list takes time, it is meant to be done in
+ * the background too. Indexes are cached per list instance, the list is
+ * expected not to change while it is used for choices.
+ */
+final class ChoiceIndex
+{
+    // Number of indexes kept for lists shown again.
+    private static final int CACHE_SIZE = 4;
+
+    // Ranges up to this size are sorted by insertion.
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // How often a substring search checks whether it was cancelled.
+    private static final int INTERRUPT_CHECK_INTERVAL = 4096;
+
+    private static final LinkedList<CacheEntry> cache = new LinkedList<>();
+
+    private final String[] labels;
+    private final String[] keys;
+    private final int[] sorted;
+
+    private ChoiceIndex(List<?> choices) {
+        int size = choices.size();
+        labels = new String[size];
+        keys = new String[size];
+        int i = 0;
+        for ( Object choice : choices ) {
+            labels[i] = String.valueOf( choice );
+            keys[i] = labels[i].toLowerCase( Locale.ROOT );
+            i++;
+        }
+
+        sorted = new int[size];
+        for ( i = 0; i < size; i++ ) {
+            sorted[i] = i;
+        }
+        sortByKey( sorted, new int[size], 0, size );
+    }
+
+    /**
+     * Sorts the given range of positions by key, keeping equal keys in list
+     * order. A merge sort on primitive arrays, so that indexing a large list
+     * doesn't box one object per choice.
+     */
+    private void sortByKey(int[] positions, int[] buffer, int from, int to) {
+        if ( to - from <= INSERTION_SORT_THRESHOLD ) {
+            for ( int i = from + 1; i < to; i++ ) {
+                int position = positions[i];
+                int j = i - 1;
+                while ( j >= from && keys[positions[j]].compareTo( keys[position] ) > 0 ) {
+                    positions[j + 1] = positions[j];
+                    j--;
+                }
+                positions[j + 1] = position;
+            }
+            return;
+        }
+        int mid = ( from + to ) >>> 1;
+        sortByKey( positions, buffer, from, mid );
+        sortByKey( positions, buffer, mid, to );
+        if ( keys[positions[mid - 1]].compareTo( keys[positions[mid]] ) <= 0 ) {
+            // both halves already in order
+            return;
+        }
+        System.arraycopy( positions, from, buffer, from, to - from );
+        int left = from;
+        int right = mid;
+        for ( int k = from; k < to; k++ ) {
+            if ( right >= to || left < mid && keys[buffer[left]].compareTo( keys[buffer[right]] ) <= 0 ) {
+                positions[k] = buffer[left++];
+            } else {
+                positions[k] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the given choices, building it if it is not
+     * cached yet.
+     */
+    static ChoiceIndex of(List<?> choices) {
+        synchronized ( cache ) {
+            Iterator<CacheEntry> it = cache.iterator();
+            while ( it.hasNext() ) {
+                CacheEntry entry = it.next();
+                List<?> list = entry.list.get();
+                if ( list == null ) {
+                    it.remove();
+                } else if ( list == choices && entry.index.size() == choices.size() ) {
+                    it.remove();
+                    cache.addFirst( entry );
+                    return entry.index;
+                }
+            }
+        }
+
+        ChoiceIndex index = new ChoiceIndex( choices );
+        synchronized ( cache ) {
+            cache.addFirst( new CacheEntry( choices, index ) );
+            while ( cache.size() > CACHE_SIZE ) {
+                cache.removeLast();
+            }
+        }
+        return index;
+    }
+
+    int size() {
+        return labels.length;
+    }
+
+    /**
+     * @return the string form of the choice at the given position of the list.
+     */
+    String getLabel(int position) {
+        return labels[position];
+    }
+
+    /**
+     * Returns the positions of the choices starting with the query, ignoring
+     * case, in alphabetical order.
+     */
+    int[] findByPrefix(String query, int limit) {
+        String key = query.toLowerCase( Locale.ROOT );
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( keys[sorted[mid]].compareTo( key ) < 0 ) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = low;
+        while ( end < sorted.length && end - low < limit && keys[sorted[end]].startsWith( key ) ) {
+            end++;
+        }
+        return Arrays.copyOfRange( sorted, low, end );
+    }
+
+    /**
+     * Returns the positions of the choices starting with the query, then of
+     * the choices containing it elsewhere, ignoring case. Stops early, with
+     * the results found so far, if the calling thread is interrupted.
+     */
+    int[] find(String query, int limit) {
+        String key = query.toLowerCase( Locale.ROOT );
+        int[] prefixed = findByPrefix( query, limit );
+        if ( prefixed.length == limit ) {
+            return prefixed;
+        }
+        int[] found = Arrays.copyOf( prefixed, limit );
+        int count = prefixed.length;
+        for ( int i = 0; i < keys.length && count < limit; i++ ) {
+            if ( i % INTERRUPT_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted() ) {
+                break;
+            }
+            if ( keys[i].indexOf( key, 1 ) > 0 && !keys[i].startsWith( key ) ) {
+                found[count++] = i;
+            }
+        }
+        return Arrays.copyOf( found, count );
+    }
+
+    private static final class CacheEntry
+    {
+        final WeakReference<List<?>> list;
+        final ChoiceIndex index;
+
+        CacheEntry(List<?> list, ChoiceIndex index) {
+            this.list = new WeakReference<List<?>>( list );
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package javafx.scene.control;
+
+import java.util.List;
+
+/**
+ * Supplies the choices of an input dialog one page at a time, for choices too
+ * many or too slow to load before the dialog is shown.
+ * <p>
+ * Pages are requested on a background thread as the user scrolls down the
+ * list or types a filter. A request made obsolete by a new filter is
+ * cancelled by interrupting the thread running it.
+ *
+ * @param <T> the type of the choices
+ * @see Dialogs#showInputDialog(javafx.stage.Stage, String, String, String, Object, ChoicePageProvider)
+ */
+public interface ChoicePageProvider<T>
+{
+    /**
+     * Returns a page of the choices matching the given filter.
+     *
+     * @param query the text typed by the user, empty for all choices.
+     * @param offset the position of the first choice of the page.
+     * @param limit the maximum number of choices to return.
+     * @return the choices of the page, fewer than {@code limit} on the last
+     *         page.
+     * @throws Exception if the choices could not be loaded, the list then
+     *             stops at the previous page.
+     */
+    List<T> getPage(String query, int offset, int limit) throws Exception;
+}
@@ -0,0 +1,169 @@
+package javafx.scene.control;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javafx.event.EventHandler;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import javafx.util.Callback;
+
+/**
+ * Keeps the hidden dialogs of the {@link DialogSpec}s, with their content, so
+ * that showing a spec again only rebinds their labels.
+ * <p>
+ * A spec is compiled into a {@link DialogTemplate} the first time it is shown
+ * for an owner and presentation. Once hidden, the template is kept for the
+ * spec instead of giving its window back to the {@link DialogPool}. Up to
+ * {@link #MAX_IDLE_PER_SPEC} templates are kept per spec; they are dropped
+ * when their owner is hidden, or with the spec once it is no longer used.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread.
+ */
+class CompiledDialogs
+{
+    static final int MAX_IDLE_PER_SPEC = 2;
+
+    // The templates don't refer to their spec, so the keys can be collected.
+    private static final Map<DialogSpec, Deque<CompiledDialog>> idleDialogs = new WeakHashMap<>();
+    private static final Set<Window> watchedOwners = new HashSet<>();
+
+    private static long compiledCount = 0;
+    private static long reusedCount = 0;
+
+    private static final EventHandler<WindowEvent> OWNER_HIDDEN_HANDLER = new EventHandler<WindowEvent>()
+    {
+        @Override
+        public void handle(WindowEvent event) {
+            evictOwner( (Window) event.getSource() );
+        }
+    };
+
+    private CompiledDialogs() {
+        // no-op as we don't want people creating instances of this class
+    }
+
+    /**
+     * Returns a kept template of the spec rebound to the given texts, or a
+     * newly compiled one if there is none for the owner.
+     */
+    static DialogTemplate<String> obtain(DialogSpec spec, Stage owner, String title, String masthead,
+            String message) {
+        DialogPresentation presentation = spec.getPresentation() != null
+                ? spec.getPresentation() : Dialogs.getDefaultPresentation();
+        Deque<CompiledDialog> idle = idleDialogs.get( spec );
+        if ( idle == null ) {
+            idle = new ArrayDeque<>();
+            idleDialogs.put( spec, idle );
+        }
+        for ( Iterator<CompiledDialog> it = idle.iterator(); it.hasNext(); ) {
+            CompiledDialog compiled = it.next();
+            if ( compiled.owner == owner && compiled.presentation == presentation ) {
+                it.remove();
+                reusedCount++;
+                compiled.template.rebind( title, masthead, message );
+                return compiled.template;
+            }
+        }
+
+        compiledCount++;
+        DialogTemplate<String> template = compile( spec, owner, title, masthead, message, presentation );
+        template.setRecycler( new Recycler( idle, owner, presentation ) );
+        return template;
+    }
+
+    static long getCompiledCount() {
+        return compiledCount;
+    }
+
+    static long getReusedCount() {
+        return reusedCount;
+    }
+
+    private static DialogTemplate<String> compile(DialogSpec spec, Stage owner, String title, String masthead,
+            String message, DialogPresentation presentation) {
+        DialogOptions options = spec.getOptions();
+        DialogTemplate<String> template = new DialogTemplate<>( owner, title, masthead, options, presentation );
+        switch ( spec.getInput() ) {
+            case TEXT:
+                template.setInputContent( message, null, (List<String>) null );
+                break;
+            case PASSWORD:
+                template.setPasswordContent( message );
+                break;
+            default:
+                if ( spec.getContentFactory() != null ) {
+                    template.setCustomContent( spec.getContentFactory().call( null ) );
+                } else {
+                    template.setSimpleContent( message, spec.getType() );
+                }
+        }
+        return template;
+    }
+
+    private static void evictOwner(Window owner) {
+        owner.removeEventHandler( WindowEvent.WINDOW_HIDDEN, OWNER_HIDDEN_HANDLER );
+        watchedOwners.remove( owner );
+        for ( Deque<CompiledDialog> idle : idleDialogs.values() ) {
+            for ( Iterator<CompiledDialog> it = idle.iterator(); it.hasNext(); ) {
+                CompiledDialog compiled = it.next();
+                if ( compiled.owner == owner ) {
+                    it.remove();
+                    compiled.template.discard();
+                }
+            }
+        }
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    /**
+     * Keeps a hidden template for the next time its spec is shown.
+     */
+    private static final class Recycler implements Callback<DialogTemplate<String>, Void>
+    {
+        final Deque<CompiledDialog> idle;
+        final Stage owner;
+        final DialogPresentation presentation;
+
+        Recycler(Deque<CompiledDialog> idle, Stage owner, DialogPresentation presentation) {
+            this.idle = idle;
+            this.owner = owner;
+            this.presentation = presentation;
+        }
+
+        @Override
+        public Void call(DialogTemplate<String> template) {
+            if ( idle.size() >= MAX_IDLE_PER_SPEC || ( owner != null && !owner.isShowing() ) ) {
+                template.discard();
+                return null;
+            }
+            idle.addFirst( new CompiledDialog( template, owner, presentation ) );
+            if ( owner != null && watchedOwners.add( owner ) ) {
+                owner.addEventHandler( WindowEvent.WINDOW_HIDDEN, OWNER_HIDDEN_HANDLER );
+            }
+            return null;
+        }
+    }
+
+    private static final class CompiledDialog
+    {
+        final DialogTemplate<String> template;
+        final Stage owner;
+        final DialogPresentation presentation;
+
+        CompiledDialog(DialogTemplate<String> template, Stage owner, DialogPresentation presentation) {
+            this.template = template;
+            this.owner = owner;
+            this.presentation = presentation;
+        }
+    }
+}
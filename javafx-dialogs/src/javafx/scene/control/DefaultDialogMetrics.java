@@ -0,0 +1,234 @@
+package javafx.scene.control;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Keeps counters and latency histograms per dialog type: construction time,
+ * time to visible and user think time.
+ * <p>
+ * Recording is lock-free and can be read from any thread. The metrics of
+ * each type can be exported as an MXBean named
+ * {@code javafx.scene.control:type=DialogMetrics,dialogType=<TYPE>}:
+ *
+ * <pre>
+ * DefaultDialogMetrics metrics = new DefaultDialogMetrics();
+ * metrics.registerMBeans();
+ * Dialogs.setMetrics( metrics );
+ * </pre>
+ */
+public class DefaultDialogMetrics implements DialogMetrics
+{
+    static final String OBJECT_NAME_PREFIX = "javafx.scene.control:type=DialogMetrics,dialogType=";
+
+    private final Map<DialogType, TypeMetrics> metrics = new EnumMap<>( DialogType.class );
+
+    public DefaultDialogMetrics() {
+        for ( DialogType type : DialogType.values() ) {
+            metrics.put( type, new TypeMetrics( type ) );
+        }
+    }
+
+    /**
+     * @return the metrics of the given dialog type.
+     */
+    public DialogMetricsMXBean getMetrics(DialogType type) {
+        return metrics.get( type );
+    }
+
+    /**
+     * Registers the metrics of every dialog type in the platform MBean server.
+     *
+     * @throws IllegalStateException if they could not be registered, e.g.
+     *             because other metrics are registered already.
+     */
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for ( TypeMetrics typeMetrics : metrics.values() ) {
+                server.registerMBean( typeMetrics, typeMetrics.objectName );
+            }
+        } catch ( JMException ex ) {
+            throw new IllegalStateException( "Cannot register the dialog metrics", ex );
+        }
+    }
+
+    /**
+     * Removes the metrics registered by {@link #registerMBeans()}.
+     */
+    public void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for ( TypeMetrics typeMetrics : metrics.values() ) {
+                if ( server.isRegistered( typeMetrics.objectName ) ) {
+                    server.unregisterMBean( typeMetrics.objectName );
+                }
+            }
+        } catch ( JMException ex ) {
+            throw new IllegalStateException( "Cannot unregister the dialog metrics", ex );
+        }
+    }
+
+    //---- DialogMetrics ----------------------------------------------------------------
+
+    @Override
+    public void buildStarted(DialogMetricsEvent event) {
+        metrics.get( event.getType() ).buildsInProgress.incrementAndGet();
+    }
+
+    @Override
+    public void buildFinished(DialogMetricsEvent event) {
+        TypeMetrics typeMetrics = metrics.get( event.getType() );
+        typeMetrics.buildsInProgress.decrementAndGet();
+        typeMetrics.buildCount.incrementAndGet();
+        typeMetrics.buildTime.record( event.getElapsed( TimeUnit.NANOSECONDS ) );
+    }
+
+    @Override
+    public void shown(DialogMetricsEvent event) {
+        TypeMetrics typeMetrics = metrics.get( event.getType() );
+        typeMetrics.shownCount.incrementAndGet();
+        typeMetrics.openCount.incrementAndGet();
+        typeMetrics.timeToVisible.record( event.getElapsed( TimeUnit.NANOSECONDS ) );
+    }
+
+    @Override
+    public void responded(DialogMetricsEvent event) {
+        TypeMetrics typeMetrics = metrics.get( event.getType() );
+        typeMetrics.responses.get( event.getResponse() ).incrementAndGet();
+        typeMetrics.thinkTime.record( event.getElapsed( TimeUnit.NANOSECONDS ) );
+    }
+
+    @Override
+    public void hidden(DialogMetricsEvent event) {
+        TypeMetrics typeMetrics = metrics.get( event.getType() );
+        typeMetrics.hiddenCount.incrementAndGet();
+        typeMetrics.openCount.decrementAndGet();
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    private static final class TypeMetrics implements DialogMetricsMXBean
+    {
+        final DialogType type;
+        final ObjectName objectName;
+        final AtomicLong buildCount = new AtomicLong();
+        final AtomicLong buildsInProgress = new AtomicLong();
+        final AtomicLong shownCount = new AtomicLong();
+        final AtomicLong openCount = new AtomicLong();
+        final AtomicLong hiddenCount = new AtomicLong();
+        final Map<DialogResponse, AtomicLong> responses = new EnumMap<>( DialogResponse.class );
+        final LatencyHistogram buildTime = new LatencyHistogram();
+        final LatencyHistogram timeToVisible = new LatencyHistogram();
+        final LatencyHistogram thinkTime = new LatencyHistogram();
+
+        TypeMetrics(DialogType type) {
+            this.type = type;
+            try {
+                this.objectName = new ObjectName( OBJECT_NAME_PREFIX + type.name() );
+            } catch ( JMException ex ) {
+                throw new IllegalStateException( ex );
+            }
+            for ( DialogResponse response : DialogResponse.values() ) {
+                responses.put( response, new AtomicLong() );
+            }
+        }
+
+        @Override
+        public String getDialogType() {
+            return type.name();
+        }
+
+        @Override
+        public long getBuildCount() {
+            return buildCount.get();
+        }
+
+        @Override
+        public long getBuildsInProgress() {
+            return buildsInProgress.get();
+        }
+
+        @Override
+        public long getShownCount() {
+            return shownCount.get();
+        }
+
+        @Override
+        public long getOpenCount() {
+            return openCount.get();
+        }
+
+        @Override
+        public long getHiddenCount() {
+            return hiddenCount.get();
+        }
+
+        @Override
+        public Map<String, Long> getResponseCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for ( Map.Entry<DialogResponse, AtomicLong> entry : responses.entrySet() ) {
+                counts.put( entry.getKey().name(), entry.getValue().get() );
+            }
+            return counts;
+        }
+
+        @Override
+        public double getBuildTimeMean() {
+            return buildTime.getMeanMillis();
+        }
+
+        @Override
+        public double getBuildTime99thPercentile() {
+            return buildTime.getPercentileMillis( 99 );
+        }
+
+        @Override
+        public double getBuildTimeMax() {
+            return buildTime.getMaxMillis();
+        }
+
+        @Override
+        public double getTimeToVisibleMean() {
+            return timeToVisible.getMeanMillis();
+        }
+
+        @Override
+        public double getTimeToVisible99thPercentile() {
+            return timeToVisible.getPercentileMillis( 99 );
+        }
+
+        @Override
+        public double getTimeToVisibleMax() {
+            return timeToVisible.getMaxMillis();
+        }
+
+        @Override
+        public double getThinkTimeMean() {
+            return thinkTime.getMeanMillis();
+        }
+
+        @Override
+        public double getThinkTime99thPercentile() {
+            return thinkTime.getPercentileMillis( 99 );
+        }
+
+        @Override
+        public double getThinkTimeMax() {
+            return thinkTime.getMaxMillis();
+        }
+
+        @Override
+        public int getBlockedCallers() {
+            return DialogThreads.getBlockedCallerCount();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package javafx.scene.control;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+
+/**
+ * The row of buttons at the bottom of a dialog, right aligned.
+ * <p>
+ * According to the UI guidelines all buttons have the same width, the width
+ * of the widest one. That width is cached: it is only measured again when the
+ * text, graphic, font, skin or visibility of a button changes, or
+ * when buttons are added or removed. Laying out the bar only positions the
+ * buttons, it never changes their preferred size, so a layout pass doesn't
+ * schedule another one.
+ */
+class DialogButtonBar extends Region
+{
+    static final double MIN_BUTTON_WIDTH = 50;
+
+    private final double spacing;
+    private final ObservableList<Button> buttons = FXCollections.observableArrayList();
+    private final InvalidationListener buttonListener = new InvalidationListener()
+    {
+        @Override
+        public void invalidated(Observable observable) {
+            invalidateButtonWidth();
+        }
+    };
+
+    // The uniform width of the buttons, -1 when it must be measured again.
+    private double buttonWidth = -1;
+
+    DialogButtonBar(double spacing) {
+        this.spacing = spacing;
+        buttons.addListener( new ListChangeListener<Button>()
+        {
+            @Override
+            public void onChanged(Change<? extends Button> change) {
+                while ( change.next() ) {
+                    for ( Button removed : change.getRemoved() ) {
+                        unwatch( removed );
+                    }
+                    for ( Button added : change.getAddedSubList() ) {
+                        watch( added );
+                    }
+                }
+                getChildren().setAll( buttons );
+                invalidateButtonWidth();
+            }
+        } );
+    }
+
+    /**
+     * @return the buttons, in display order.
+     */
+    ObservableList<Button> getButtons() {
+        return buttons;
+    }
+
+    /**
+     * @return the width given to every button.
+     */
+    double getButtonWidth() {
+        if ( buttonWidth < 0 ) {
+            buttonWidth = measureButtonWidth();
+        }
+        return buttonWidth;
+    }
+
+    /**
+     * Measures the widest visible button, only when the cached width was
+     * invalidated.
+     */
+    double measureButtonWidth() {
+        double widest = MIN_BUTTON_WIDTH;
+        for ( Button button : buttons ) {
+            if ( button.isVisible() ) {
+                widest = Math.max( widest, button.prefWidth( -1 ) );
+            }
+        }
+        return widest;
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        Insets insets = getInsets();
+        int count = visibleCount();
+        double width = count == 0 ? 0 : count * getButtonWidth() + ( count - 1 ) * spacing;
+        return insets.getLeft() + width + insets.getRight();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        Insets insets = getInsets();
+        double height = 0;
+        for ( Button button : buttons ) {
+            if ( button.isVisible() ) {
+                height = Math.max( height, button.prefHeight( -1 ) );
+            }
+        }
+        return insets.getTop() + height + insets.getBottom();
+    }
+
+    @Override
+    protected double computeMinWidth(double height) {
+        return computePrefWidth( height );
+    }
+
+    @Override
+    protected double computeMinHeight(double width) {
+        return computePrefHeight( width );
+    }
+
+    @Override
+    protected void layoutChildren() {
+        Insets insets = getInsets();
+        double width = getButtonWidth();
+        double top = insets.getTop();
+        double height = getHeight() - top - insets.getBottom();
+        double x = getWidth() - insets.getRight();
+        for ( int i = buttons.size() - 1; i >= 0; i-- ) {
+            Button button = buttons.get( i );
+            if ( !button.isVisible() ) {
+                continue;
+            }
+            x -= width;
+            double buttonHeight = Math.min( height, button.prefHeight( -1 ) );
+            button.resizeRelocate( snapPosition( x ), snapPosition( top + ( height - buttonHeight ) / 2 ),
+                    snapSize( width ), snapSize( buttonHeight ) );
+            x -= spacing;
+        }
+    }
+
+    private void invalidateButtonWidth() {
+        buttonWidth = -1;
+        requestLayout();
+    }
+
+    private int visibleCount() {
+        int count = 0;
+        for ( Node button : buttons ) {
+            if ( button.isVisible() ) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void watch(Button button) {
+        button.textProperty().addListener( buttonListener );
+        button.graphicProperty().addListener( buttonListener );
+        button.fontProperty().addListener( buttonListener );
+        button.skinProperty().addListener( buttonListener );
+        button.visibleProperty().addListener( buttonListener );
+    }
+
+    private void unwatch(Button button) {
+        button.textProperty().removeListener( buttonListener );
+        button.graphicProperty().removeListener( buttonListener );
+        button.fontProperty().removeListener( buttonListener );
+        button.skinProperty().removeListener( buttonListener );
+        button.visibleProperty().removeListener( buttonListener );
+    }
+}
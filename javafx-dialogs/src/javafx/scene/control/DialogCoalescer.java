@@ -0,0 +1,220 @@
+package javafx.scene.control;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javafx.stage.Window;
+import javafx.util.Callback;
+
+/**
+ * Merges identical dialogs requested in a burst into a single visible dialog.
+ * Dialogs that are not merged are handed to the {@link DialogScheduler}.
+ * <p>
+ * When a backend goes down, the same error tends to be reported once per
+ * failed request. Instead of stacking one modal window per report, dialogs
+ * for the same owner, with the same texts, options, priority, presentation
+ * and exception fingerprint share the dialog already open: its masthead
+ * shows a live occurrence counter and every merged caller gets the same
+ * response. Only the requests marked as coalesced are merged, see
+ * {@link DialogRequest#isCoalesced()}.
+ * <p>
+ * A dialog absorbs repeats while it is waiting or open, as long as they keep
+ * coming within the coalescing window of each other. It is forgotten as soon
+ * as it is answered: the next repeat shows a new dialog.
+ * <p>
+ * Every caller gets a future of its own. Cancelling it only detaches that
+ * caller; the dialog is closed once all its callers have cancelled.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread.
+ */
+class DialogCoalescer
+{
+    static final long DEFAULT_WINDOW_MILLIS = 2000;
+
+    // Number of stack frames used to tell two exceptions apart.
+    private static final int FINGERPRINT_FRAMES = 3;
+
+    private static long windowMillis = DEFAULT_WINDOW_MILLIS;
+
+    private static final Map<Key, Entry> entries = new LinkedHashMap<>();
+
+    private DialogCoalescer() {
+        // no-op as we don't want people creating instances of this class
+    }
+
+    static void setWindow(long windowMillis) {
+        if ( windowMillis < 0 ) {
+            throw new IllegalArgumentException( "Coalescing window must not be negative" );
+        }
+        DialogCoalescer.windowMillis = windowMillis;
+    }
+
+    /**
+     * Schedules the dialog built by the given factory, unless the request is
+     * coalesced and an identical dialog, last requested within the
+     * coalescing window, is still waiting or open, in which case the returned
+     * future follows that dialog.
+     */
+    static DialogFuture<DialogResponse> show(Window owner, DialogRequest request,
+            Callable<DialogTemplate<Object>> factory) {
+        if ( windowMillis == 0 || !request.isCoalesced() ) {
+            return DialogScheduler.schedule( owner, request.getType(), request.getPriority(), factory ).future;
+        }
+
+        long now = System.currentTimeMillis();
+        final Key key = new Key( owner, request );
+        Entry entry = entries.get( key );
+        if ( entry != null && !entry.future.isDone() && now - entry.lastSeen <= windowMillis ) {
+            entry.occurrences++;
+            entry.lastSeen = now;
+            entry.dialog.setOccurrences( entry.occurrences );
+            return attach( entry );
+        }
+
+        DialogScheduler.ScheduledDialog<Object> dialog = DialogScheduler.schedule( owner, request.getType(),
+                request.getPriority(), factory );
+        final Entry newEntry = new Entry( dialog, now );
+        entries.put( key, newEntry );
+        dialog.future.addListener( new Callback<DialogFuture<DialogResponse>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<DialogResponse> done) {
+                // Don't keep the owner and the dialog reachable once answered.
+                if ( entries.get( key ) == newEntry ) {
+                    entries.remove( key );
+                }
+                return null;
+            }
+        } );
+        return attach( newEntry );
+    }
+
+    /**
+     * @return a future of its own for a caller of the dialog, following the
+     *         shared one.
+     */
+    private static DialogFuture<DialogResponse> attach(final Entry entry) {
+        final DialogFuture<DialogResponse> caller = new DialogFuture<>();
+        entry.callers++;
+        caller.setCanceller( new Runnable()
+        {
+            @Override
+            public void run() {
+                detach( entry );
+            }
+        } );
+        entry.future.addListener( new Callback<DialogFuture<DialogResponse>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<DialogResponse> done) {
+                if ( done.isCancelled() ) {
+                    caller.cancel( true );
+                } else if ( done.getFailure() != null ) {
+                    caller.fail( done.getFailure() );
+                } else {
+                    caller.complete( done.getNow( null ) );
+                }
+                return null;
+            }
+        } );
+        return caller;
+    }
+
+    private static void detach(Entry entry) {
+        entry.callers--;
+        if ( entry.callers == 0 && !entry.future.isDone() ) {
+            entry.future.cancel( true );
+        }
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    /**
+     * What makes two dialogs identical: owner window (compared by identity),
+     * dialog type, texts, options, priority, presentation and, for error
+     * dialogs, the exception class and its top stack frames.
+     */
+    static final class Key
+    {
+        private final Window owner;
+        private final DialogType dialogType;
+        private final String title;
+        private final String masthead;
+        private final String message;
+        private final DialogOptions options;
+        private final DialogPriority priority;
+        private final DialogPresentation presentation;
+        private final String fingerprint;
+
+        Key(Window owner, DialogRequest request) {
+            this.owner = owner;
+            this.dialogType = request.getType();
+            this.title = request.getTitle();
+            this.masthead = request.getMasthead();
+            this.message = request.getMessage();
+            this.options = request.getOptions();
+            this.priority = request.getPriority();
+            this.presentation = request.getPresentation();
+            this.fingerprint = fingerprint( request.getThrowable() );
+        }
+
+        private static String fingerprint(Throwable throwable) {
+            if ( throwable == null ) {
+                return null;
+            }
+            StringBuilder sb = new StringBuilder( throwable.getClass().getName() );
+            StackTraceElement[] frames = throwable.getStackTrace();
+            for ( int i = 0; i < Math.min( FINGERPRINT_FRAMES, frames.length ); i++ ) {
+                sb.append( '|' ).append( frames[i] );
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if ( !( obj instanceof Key ) ) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return owner == other.owner && dialogType == other.dialogType && equal( title, other.title )
+                    && equal( masthead, other.masthead ) && equal( message, other.message )
+                    && options == other.options && priority == other.priority
+                    && presentation == other.presentation && equal( fingerprint, other.fingerprint );
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode( owner );
+            result = 31 * result + ( dialogType == null ? 0 : dialogType.hashCode() );
+            result = 31 * result + ( title == null ? 0 : title.hashCode() );
+            result = 31 * result + ( masthead == null ? 0 : masthead.hashCode() );
+            result = 31 * result + ( message == null ? 0 : message.hashCode() );
+            result = 31 * result + ( options == null ? 0 : options.hashCode() );
+            result = 31 * result + ( priority == null ? 0 : priority.hashCode() );
+            result = 31 * result + ( presentation == null ? 0 : presentation.hashCode() );
+            return 31 * result + ( fingerprint == null ? 0 : fingerprint.hashCode() );
+        }
+
+        private static boolean equal(Object a, Object b) {
+            return a == null ? b == null : a.equals( b );
+        }
+    }
+
+    private static final class Entry
+    {
+        final DialogScheduler.ScheduledDialog<?> dialog;
+        final DialogFuture<DialogResponse> future;
+        int occurrences = 1;
+        // callers whose future is not cancelled
+        int callers;
+        long lastSeen;
+
+        Entry(DialogScheduler.ScheduledDialog<?> dialog, long firstSeen) {
+            this.dialog = dialog;
+            this.future = dialog.future;
+            this.lastSeen = firstSeen;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javafx.application.Platform;
+import javafx.util.Callback;
+
+/**
+ * The pending result of a dialog shown without blocking the caller.
+ * <p>
+ * A dialog future is completed on the JavaFX Application Thread when the
+ * dialog is hidden. Listeners registered with {@link #addListener(Callback)}
+ * are called on that thread too, so they can safely update the scene graph
+ * or show the next dialog. Never call one of the blocking {@code get}
+ * methods on the JavaFX Application Thread while the dialog is still open,
+ * that would dead lock.
+ * <p>
+ * Cancelling the future closes the dialog.
+ *
+ * @param <T> the type of the dialog result
+ */
+public class DialogFuture<T> implements Future<T>
+{
+    private final CountDownLatch done = new CountDownLatch( 1 );
+    private final List<Callback<DialogFuture<T>, Void>> listeners = new ArrayList<>( 2 );
+    private volatile Runnable canceller;
+    private boolean completed;
+    private boolean cancelled;
+    private T value;
+    private Throwable failure;
+
+    DialogFuture() {
+    }
+
+    //---- Completion -------------------------------------------------------------------
+
+    boolean complete(T value) {
+        synchronized ( this ) {
+            if ( completed ) {
+                return false;
+            }
+            this.value = value;
+            completed = true;
+        }
+        fireDone();
+        return true;
+    }
+
+    boolean fail(Throwable failure) {
+        synchronized ( this ) {
+            if ( completed ) {
+                return false;
+            }
+            this.failure = failure;
+            completed = true;
+        }
+        fireDone();
+        return true;
+    }
+
+    /**
+     * Sets the action closing the dialog when this future is cancelled.
+     */
+    void setCanceller(Runnable canceller) {
+        this.canceller = canceller;
+    }
+
+    /**
+     * Cancels this future: it is done as soon as this method returns, but the
+     * dialog is closed and the listeners are called on the JavaFX Application
+     * Thread, later if this method is called from another thread.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        synchronized ( this ) {
+            if ( completed ) {
+                return false;
+            }
+            cancelled = true;
+            completed = true;
+        }
+        done.countDown();
+        runOnFxThread( new Runnable()
+        {
+            @Override
+            public void run() {
+                if ( canceller != null ) {
+                    canceller.run();
+                }
+                notifyListeners();
+            }
+        } );
+        return true;
+    }
+
+    private void fireDone() {
+        done.countDown();
+        notifyListeners();
+    }
+
+    private void notifyListeners() {
+        List<Callback<DialogFuture<T>, Void>> toCall;
+        synchronized ( this ) {
+            toCall = new ArrayList<>( listeners );
+            listeners.clear();
+        }
+        for ( Callback<DialogFuture<T>, Void> listener : toCall ) {
+            listener.call( this );
+        }
+    }
+
+    private static void runOnFxThread(Runnable action) {
+        if ( Platform.isFxApplicationThread() ) {
+            action.run();
+        } else {
+            Platform.runLater( action );
+        }
+    }
+
+    //---- Composition ------------------------------------------------------------------
+
+    /**
+     * Registers a listener called with this future once it is done, whether
+     * completed, failed or cancelled. If it is already done, the listener is
+     * called right away, or later on the JavaFX Application Thread if this
+     * method is called from another thread.
+     */
+    public void addListener(final Callback<DialogFuture<T>, Void> listener) {
+        synchronized ( this ) {
+            if ( !completed ) {
+                listeners.add( listener );
+                return;
+            }
+        }
+        runOnFxThread( new Runnable()
+        {
+            @Override
+            public void run() {
+                listener.call( DialogFuture.this );
+            }
+        } );
+    }
+
+    /**
+     * Returns a future completed with the result of applying the given
+     * function to this future's result. Cancelling the returned future
+     * cancels this one.
+     */
+    public <R> DialogFuture<R> map(final Callback<T, R> function) {
+        final DialogFuture<R> mapped = new DialogFuture<>();
+        mapped.setCanceller( new Runnable()
+        {
+            @Override
+            public void run() {
+                cancel( true );
+            }
+        } );
+        addListener( new Callback<DialogFuture<T>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<T> source) {
+                if ( source.isCancelled() ) {
+                    mapped.cancel( true );
+                } else if ( source.failure != null ) {
+                    mapped.fail( source.failure );
+                } else {
+                    try {
+                        mapped.complete( function.call( source.value ) );
+                    } catch ( RuntimeException ex ) {
+                        mapped.fail( ex );
+                    }
+                }
+                return null;
+            }
+        } );
+        return mapped;
+    }
+
+    //---- Future API -------------------------------------------------------------------
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return completed;
+    }
+
+    /**
+     * Returns the result if the dialog is done, or the given value if it is
+     * still open, was cancelled or failed.
+     */
+    public synchronized T getNow(T valueIfAbsent) {
+        if ( !completed || cancelled || failure != null ) {
+            return valueIfAbsent;
+        }
+        return value;
+    }
+
+    /**
+     * @return the exception that prevented the dialog from being shown or
+     *         completed, or null.
+     */
+    public synchronized Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        done.await();
+        return getResult();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if ( !done.await( timeout, unit ) ) {
+            throw new TimeoutException();
+        }
+        return getResult();
+    }
+
+    private synchronized T getResult() throws ExecutionException {
+        if ( cancelled ) {
+            throw new CancellationException();
+        }
+        if ( failure != null ) {
+            throw new ExecutionException( failure );
+        }
+        return value;
+    }
+}
@@ -0,0 +1,40 @@
+package javafx.scene.control;
+
+import javafx.event.EventHandler;
+import javafx.scene.layout.Pane;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+/**
+ * What shows the content of a {@link DialogTemplate}: a window of its own,
+ * {@link FXDialog}, or a layer in the scene of the owner window,
+ * {@link DialogOverlay}.
+ */
+interface DialogHost
+{
+    String getTitle();
+
+    void setTitle(String title);
+
+    Window getOwner();
+
+    void setContentPane(Pane pane);
+
+    void setResizable(boolean resizable);
+
+    /**
+     * Replaces the theme stylesheet of the dialog.
+     */
+    void setTheme(DialogTheme theme);
+
+    boolean isShowing();
+
+    void show();
+
+    void hide();
+
+    /**
+     * Sets the handler called once the dialog is hidden.
+     */
+    void setOnHidden(EventHandler<WindowEvent> handler);
+}
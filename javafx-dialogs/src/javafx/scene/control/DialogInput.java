@@ -0,0 +1,22 @@
+package javafx.scene.control;
+
+/**
+ * The input asked by a dialog described by a {@link DialogSpec}.
+ */
+public enum DialogInput
+{
+    /**
+     * Only a message, or the custom content of the spec.
+     */
+    NONE,
+
+    /**
+     * A text field, the dialog has OK and Cancel buttons.
+     */
+    TEXT,
+
+    /**
+     * A password field.
+     */
+    PASSWORD
+}
@@ -0,0 +1,273 @@
+package javafx.scene.control;
+
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+
+/**
+ * The content of a dialog: masthead, content, buttons and bottom panel, laid
+ * out by this single region instead of nested boxes and border panes.
+ * <p>
+ * The masthead text and icon are children of a {@code top-panel} section,
+ * the content, validation message and buttons of a {@code center-panel}
+ * section, as before, so that stylesheets keep matching them. The sections
+ * don't lay out their children: this layout positions every node itself,
+ * using the insets of the sections and the spacing of the center one. Absent
+ * sections take no node and no space.
+ * <p>
+ * The extra height of a window larger than the dialog goes to the content.
+ */
+class DialogLayout extends Pane
+{
+    // Space between the masthead text and the icon.
+    static final double ICON_GAP = 10;
+
+    // Space below the content, added to the spacing of the center section.
+    static final double CONTENT_PADDING = 12;
+
+    private final Section topPanel = new Section( "top-panel" );
+    private final Section centerPanel = new Section( "center-panel" );
+    private Node mastheadText;
+    private Node mastheadIcon;
+    private Node content;
+    private Node buttonsLeft;
+    private Node buttons;
+    private Node bottomPanel;
+
+    DialogLayout() {
+        getChildren().add( centerPanel );
+    }
+
+    //---- Sections ---------------------------------------------------------------------
+
+    /**
+     * Sets the masthead, shown if it has a text or an icon.
+     */
+    void setMasthead(Node text, Node icon) {
+        mastheadText = replace( topPanel, mastheadText, text );
+        mastheadIcon = replace( topPanel, mastheadIcon, icon );
+        boolean shown = text != null || icon != null;
+        if ( shown && topPanel.getParent() == null ) {
+            getChildren().add( 0, topPanel );
+        } else if ( !shown ) {
+            getChildren().remove( topPanel );
+        }
+    }
+
+    void setMastheadText(Node text) {
+        setMasthead( text, mastheadIcon );
+    }
+
+    void setContent(Node content) {
+        this.content = replace( centerPanel, this.content, content );
+    }
+
+    /**
+     * Sets the node shown left of the buttons, e.g. a validation message.
+     */
+    void setButtonsLeft(Node buttonsLeft) {
+        this.buttonsLeft = replace( centerPanel, this.buttonsLeft, buttonsLeft );
+    }
+
+    void setButtons(Node buttons) {
+        this.buttons = replace( centerPanel, this.buttons, buttons );
+    }
+
+    void setBottomPanel(Node bottomPanel) {
+        this.bottomPanel = replace( this, this.bottomPanel, bottomPanel );
+    }
+
+    private static Node replace(Pane parent, Node oldNode, Node newNode) {
+        if ( oldNode != null ) {
+            parent.getChildren().remove( oldNode );
+        }
+        if ( newNode != null ) {
+            parent.getChildren().add( newNode );
+        }
+        return newNode;
+    }
+
+    //---- Layout -----------------------------------------------------------------------
+
+    @Override
+    protected double computePrefWidth(double height) {
+        double width = 0;
+        if ( hasMasthead() ) {
+            Insets insets = topPanel.getInsets();
+            width = insets.getLeft() + mastheadWidth() + insets.getRight();
+        }
+        Insets insets = centerPanel.getInsets();
+        double center = Math.max( widthOf( content ), widthOf( buttonsLeft ) + widthOf( buttons ) );
+        width = Math.max( width, insets.getLeft() + center + insets.getRight() );
+        width = Math.max( width, widthOf( bottomPanel ) );
+        Insets own = getInsets();
+        return own.getLeft() + width + own.getRight();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        Insets own = getInsets();
+        double inner = ( width < 0 ? computePrefWidth( -1 ) : width ) - own.getLeft() - own.getRight();
+        return own.getTop() + mastheadHeight( inner ) + centerHeight( inner ) + heightOf( bottomPanel, inner )
+                + own.getBottom();
+    }
+
+    @Override
+    protected double computeMinWidth(double height) {
+        return computePrefWidth( height );
+    }
+
+    @Override
+    protected double computeMinHeight(double width) {
+        return computePrefHeight( width );
+    }
+
+    @Override
+    protected void layoutChildren() {
+        Insets own = getInsets();
+        double x = own.getLeft();
+        double y = own.getTop();
+        double width = getWidth() - own.getLeft() - own.getRight();
+
+        if ( hasMasthead() ) {
+            double height = mastheadHeight( width );
+            topPanel.resizeRelocate( snapPosition( x ), snapPosition( y ), snapSize( width ), snapSize( height ) );
+            layoutMasthead( width, height );
+            y += height;
+        }
+
+        double bottomHeight = heightOf( bottomPanel, width );
+        double centerHeight = Math.max( centerHeight( width ), getHeight() - own.getBottom() - bottomHeight - y );
+        centerPanel.resizeRelocate( snapPosition( x ), snapPosition( y ), snapSize( width ),
+                snapSize( centerHeight ) );
+        layoutCenter( width, centerHeight );
+        y += centerHeight;
+
+        if ( bottomPanel != null ) {
+            bottomPanel.resizeRelocate( snapPosition( x ), snapPosition( y ), snapSize( width ),
+                    snapSize( bottomHeight ) );
+        }
+    }
+
+    // in the coordinates of the top section
+    private void layoutMasthead(double width, double height) {
+        Insets insets = topPanel.getInsets();
+        double innerHeight = height - insets.getTop() - insets.getBottom();
+        double right = width - insets.getRight();
+        if ( mastheadIcon != null ) {
+            double iconWidth = widthOf( mastheadIcon );
+            double iconHeight = heightOf( mastheadIcon, iconWidth );
+            right -= iconWidth;
+            mastheadIcon.resizeRelocate( snapPosition( right ),
+                    snapPosition( insets.getTop() + ( innerHeight - iconHeight ) / 2 ), snapSize( iconWidth ),
+                    snapSize( iconHeight ) );
+            right -= ICON_GAP;
+        }
+        if ( mastheadText != null ) {
+            double left = insets.getLeft();
+            double textWidth = Math.min( widthOf( mastheadText ), right - left );
+            double textHeight = heightOf( mastheadText, textWidth );
+            mastheadText.resizeRelocate( snapPosition( left ),
+                    snapPosition( insets.getTop() + ( innerHeight - textHeight ) / 2 ), snapSize( textWidth ),
+                    snapSize( textHeight ) );
+        }
+    }
+
+    // in the coordinates of the center section
+    private void layoutCenter(double width, double height) {
+        Insets insets = centerPanel.getInsets();
+        double left = insets.getLeft();
+        double innerWidth = width - insets.getLeft() - insets.getRight();
+        double rowHeight = buttonRowHeight( innerWidth );
+        double bottom = height - insets.getBottom();
+
+        if ( content != null ) {
+            double contentHeight = bottom - rowHeight - contentSpacing() - insets.getTop();
+            content.resizeRelocate( snapPosition( left ), snapPosition( insets.getTop() ), snapSize( innerWidth ),
+                    snapSize( contentHeight ) );
+        }
+
+        double rowTop = bottom - rowHeight;
+        double buttonsWidth = widthOf( buttons );
+        if ( buttons != null ) {
+            buttons.resizeRelocate( snapPosition( left + innerWidth - buttonsWidth ), snapPosition( rowTop ),
+                    snapSize( buttonsWidth ), snapSize( rowHeight ) );
+        }
+        if ( buttonsLeft != null ) {
+            double leftWidth = innerWidth - buttonsWidth;
+            double leftHeight = Math.min( rowHeight, heightOf( buttonsLeft, leftWidth ) );
+            buttonsLeft.resizeRelocate( snapPosition( left ), snapPosition( rowTop + ( rowHeight - leftHeight ) / 2 ),
+                    snapSize( leftWidth ), snapSize( leftHeight ) );
+        }
+    }
+
+    //---- Measures ---------------------------------------------------------------------
+
+    private boolean hasMasthead() {
+        return mastheadText != null || mastheadIcon != null;
+    }
+
+    private double mastheadWidth() {
+        double width = widthOf( mastheadText ) + widthOf( mastheadIcon );
+        return mastheadText != null && mastheadIcon != null ? width + ICON_GAP : width;
+    }
+
+    private double mastheadHeight(double width) {
+        if ( !hasMasthead() ) {
+            return 0;
+        }
+        Insets insets = topPanel.getInsets();
+        double iconWidth = widthOf( mastheadIcon );
+        double textWidth = width - insets.getLeft() - insets.getRight() - iconWidth
+                - ( mastheadIcon != null ? ICON_GAP : 0 );
+        double height = Math.max( heightOf( mastheadIcon, iconWidth ),
+                heightOf( mastheadText, Math.min( widthOf( mastheadText ), textWidth ) ) );
+        return insets.getTop() + height + insets.getBottom();
+    }
+
+    private double centerHeight(double width) {
+        Insets insets = centerPanel.getInsets();
+        double innerWidth = width - insets.getLeft() - insets.getRight();
+        double height = buttonRowHeight( innerWidth );
+        if ( content != null ) {
+            height += heightOf( content, innerWidth ) + contentSpacing();
+        }
+        return insets.getTop() + height + insets.getBottom();
+    }
+
+    private double contentSpacing() {
+        return CONTENT_PADDING + centerPanel.getSpacing();
+    }
+
+    private double buttonRowHeight(double width) {
+        double buttonsWidth = widthOf( buttons );
+        return Math.max( heightOf( buttons, buttonsWidth ), heightOf( buttonsLeft, width - buttonsWidth ) );
+    }
+
+    private static double widthOf(Node node) {
+        return node == null ? 0 : node.prefWidth( -1 );
+    }
+
+    private static double heightOf(Node node, double width) {
+        return node == null ? 0 : node.prefHeight( width );
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    /**
+     * A styled section of the dialog. Its padding, border and spacing come
+     * from the stylesheet, its children are laid out by the dialog layout.
+     */
+    private static final class Section extends VBox
+    {
+        Section(String styleClass) {
+            getStyleClass().add( styleClass );
+        }
+
+        @Override
+        protected void layoutChildren() {
+            // laid out by the DialogLayout
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package javafx.scene.control;
+
+/**
+ * Listens to the lifecycle of the dialogs, e.g. to collect metrics.
+ * <p>
+ * Set with {@link Dialogs#setMetrics(DialogMetrics)}. All methods are called
+ * on the JavaFX Application Thread, in this order for a given dialog; they
+ * must return quickly. {@link DefaultDialogMetrics} keeps counters and
+ * latency histograms per dialog type and exports them over JMX.
+ */
+public interface DialogMetrics
+{
+    /**
+     * Called when the dialog starts being built, once its turn to be shown
+     * has come. The options of the event are not known yet.
+     */
+    void buildStarted(DialogMetricsEvent event);
+
+    /**
+     * Called when the dialog is built. The elapsed time is the construction
+     * time.
+     */
+    void buildFinished(DialogMetricsEvent event);
+
+    /**
+     * Called when the dialog is first shown. The elapsed time is the time
+     * since the dialog was requested, including the time it waited for other
+     * dialogs of the same owner.
+     */
+    void shown(DialogMetricsEvent event);
+
+    /**
+     * Called when the user chooses a response. The elapsed time is the time
+     * since the dialog was first shown.
+     */
+    void responded(DialogMetricsEvent event);
+
+    /**
+     * Called when the dialog is closed, whether answered, closed from its
+     * title bar or cancelled. The elapsed time is the time since the dialog
+     * was first shown.
+     */
+    void hidden(DialogMetricsEvent event);
+}
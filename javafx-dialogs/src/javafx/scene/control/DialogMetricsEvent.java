@@ -0,0 +1,67 @@
+package javafx.scene.control;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.stage.Window;
+
+/**
+ * A point of the lifecycle of a dialog, passed to {@link DialogMetrics}.
+ */
+public final class DialogMetricsEvent
+{
+    private final DialogType type;
+    private final DialogOptions options;
+    private final Window owner;
+    private final DialogResponse response;
+    private final long elapsedNanos;
+
+    DialogMetricsEvent(DialogType type, DialogOptions options, Window owner, DialogResponse response,
+            long elapsedNanos) {
+        this.type = type;
+        this.options = options;
+        this.owner = owner;
+        this.response = response;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public DialogType getType() {
+        return type;
+    }
+
+    /**
+     * @return the options of the dialog, null until it is built or if it has
+     *         none (input, password and custom dialogs).
+     */
+    public DialogOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return the owner of the dialog, may be null.
+     */
+    public Window getOwner() {
+        return owner;
+    }
+
+    /**
+     * @return the response chosen by the user, null before the dialog is
+     *         answered.
+     */
+    public DialogResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * @return the duration measured at this point of the lifecycle, see
+     *         {@link DialogMetrics}.
+     */
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert( elapsedNanos, TimeUnit.NANOSECONDS );
+    }
+
+    @Override
+    public String toString() {
+        return "DialogMetricsEvent[" + type + ", options=" + options + ", response=" + response + ", elapsed="
+                + getElapsed( TimeUnit.MICROSECONDS ) + "us]";
+    }
+}
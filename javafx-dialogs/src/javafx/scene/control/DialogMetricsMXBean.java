@@ -0,0 +1,58 @@
+package javafx.scene.control;
+
+import java.util.Map;
+
+/**
+ * The metrics of one dialog type, as exported over JMX by
+ * {@link DefaultDialogMetrics}. Durations are in milliseconds.
+ */
+public interface DialogMetricsMXBean
+{
+    String getDialogType();
+
+    long getBuildCount();
+
+    /**
+     * @return the number of dialogs being built right now; a count that stays
+     *         above zero points to a dialog stuck while being built.
+     */
+    long getBuildsInProgress();
+
+    long getShownCount();
+
+    /**
+     * @return the number of dialogs currently open.
+     */
+    long getOpenCount();
+
+    long getHiddenCount();
+
+    /**
+     * @return the number of responses by response name.
+     */
+    Map<String, Long> getResponseCounts();
+
+    double getBuildTimeMean();
+
+    double getBuildTime99thPercentile();
+
+    double getBuildTimeMax();
+
+    double getTimeToVisibleMean();
+
+    double getTimeToVisible99thPercentile();
+
+    double getTimeToVisibleMax();
+
+    double getThinkTimeMean();
+
+    double getThinkTime99thPercentile();
+
+    double getThinkTimeMax();
+
+    /**
+     * @return the number of threads, of all dialog types, currently blocked
+     *         waiting for a dialog to be answered.
+     */
+    int getBlockedCallers();
+}
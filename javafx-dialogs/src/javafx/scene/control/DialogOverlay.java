@@ -0,0 +1,311 @@
+package javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+/**
+ * Shows the content of a dialog in a layer of the scene of its owner window,
+ * instead of in a window of its own.
+ * <p>
+ * The first overlay shown in a scene moves the scene root into a stack pane,
+ * the overlay host. Each overlay adds to it a scrim covering the whole window,
+ * which takes the mouse events, with the dialog centered on it. While an
+ * overlay is shown the keyboard focus is kept inside the dialog, and the
+ * accelerators of the owner scene are disabled. Once the last overlay is
+ * hidden, the scene gets its root, stylesheets and accelerators back, and the
+ * focus goes back to the node that had it.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread.
+ */
+class DialogOverlay implements DialogHost
+{
+    static final String HOST_STYLE_CLASS = "dialog-overlay-host";
+
+    private static DialogPresentation defaultPresentation = DialogPresentation.WINDOW;
+
+    private final Stage owner;
+    private final Label titleLabel = new Label();
+    private final StackPane scrim = new StackPane();
+    private final BorderPane panel = new BorderPane();
+    private final ChangeListener<Node> focusTrap = new ChangeListener<Node>()
+    {
+        @Override
+        public void changed(ObservableValue<? extends Node> observable, Node oldOwner, Node newOwner) {
+            if ( newOwner != null && !isInPanel( newOwner ) ) {
+                trapFocus( oldOwner );
+            }
+        }
+    };
+
+    private EventHandler<WindowEvent> onHidden;
+    private Scene scene;
+    private OverlayHost host;
+    private Node focusedBefore;
+    private DialogTheme theme;
+
+    DialogOverlay(String title, Stage owner) {
+        this.owner = owner;
+
+        titleLabel.setText( title );
+        titleLabel.getStyleClass().add( "window-title" );
+        ToolBar header = new ToolBar();
+        header.getStyleClass().add( "window-header" );
+        header.getItems().add( titleLabel );
+
+        panel.getStyleClass().addAll( "dialog", "overlay-dialog" );
+        panel.setTop( header );
+        panel.setMaxSize( Region.USE_PREF_SIZE, Region.USE_PREF_SIZE );
+
+        scrim.getStyleClass().add( "dialog-scrim" );
+        scrim.setPickOnBounds( true );
+        scrim.getChildren().add( panel );
+    }
+
+    /**
+     * @return whether a dialog of the given owner, shown the given way, is
+     *         shown as an overlay.
+     */
+    static boolean isOverlay(DialogPresentation presentation, Window owner) {
+        if ( presentation == null ) {
+            presentation = defaultPresentation;
+        }
+        return presentation == DialogPresentation.OVERLAY && owner instanceof Stage && owner.getScene() != null;
+    }
+
+    static DialogPresentation getDefaultPresentation() {
+        return defaultPresentation;
+    }
+
+    static void setDefaultPresentation(DialogPresentation presentation) {
+        defaultPresentation = presentation == null ? DialogPresentation.WINDOW : presentation;
+    }
+
+    //---- DialogHost -------------------------------------------------------------------
+
+    @Override
+    public String getTitle() {
+        return titleLabel.getText();
+    }
+
+    @Override
+    public void setTitle(String title) {
+        titleLabel.setText( title );
+    }
+
+    @Override
+    public Window getOwner() {
+        return owner;
+    }
+
+    @Override
+    public void setContentPane(Pane pane) {
+        if ( pane.getId() == null ) {
+            pane.getStyleClass().add( "content-pane" );
+        }
+        panel.setCenter( pane );
+    }
+
+    @Override
+    public void setResizable(boolean resizable) {
+        // An overlay always has the size of its content.
+    }
+
+    @Override
+    public void setTheme(DialogTheme theme) {
+        if ( host != null ) {
+            if ( this.theme != null && this.theme.getStylesheet() != null ) {
+                host.removeStylesheet( this.theme.getStylesheet() );
+            }
+            if ( theme.getStylesheet() != null ) {
+                host.addStylesheet( theme.getStylesheet() );
+            }
+        }
+        this.theme = theme;
+    }
+
+    @Override
+    public boolean isShowing() {
+        return scene != null;
+    }
+
+    @Override
+    public void show() {
+        if ( scene != null ) {
+            return;
+        }
+        scene = owner.getScene();
+        host = hostOf( scene );
+        // The rules of the dialogs stylesheet only apply to dialogs.
+        host.addStylesheet( FXDialog.getStylesheet() );
+        this.theme = null;
+        DialogThemes.apply( this );
+
+        host.getChildren().add( scrim );
+        focusedBefore = scene.getFocusOwner();
+        scene.focusOwnerProperty().addListener( focusTrap );
+        List<Node> focusable = focusableNodes();
+        if ( !focusable.isEmpty() ) {
+            focusable.get( 0 ).requestFocus();
+        }
+    }
+
+    @Override
+    public void hide() {
+        if ( scene == null ) {
+            return;
+        }
+        Scene hiddenScene = scene;
+        scene = null;
+        hiddenScene.focusOwnerProperty().removeListener( focusTrap );
+        host.remove( scrim );
+        host = null;
+        if ( focusedBefore != null && focusedBefore.getScene() == hiddenScene ) {
+            focusedBefore.requestFocus();
+        }
+        focusedBefore = null;
+        if ( onHidden != null ) {
+            onHidden.handle( new WindowEvent( owner, WindowEvent.WINDOW_HIDDEN ) );
+        }
+    }
+
+    @Override
+    public void setOnHidden(EventHandler<WindowEvent> handler) {
+        this.onHidden = handler;
+    }
+
+    //---- Implementation ---------------------------------------------------------------
+
+    private static OverlayHost hostOf(Scene scene) {
+        Parent root = scene.getRoot();
+        if ( root instanceof OverlayHost ) {
+            return (OverlayHost) root;
+        }
+        return new OverlayHost( scene );
+    }
+
+    private boolean isInPanel(Node node) {
+        for ( Node parent = node; parent != null; parent = parent.getParent() ) {
+            if ( parent == panel ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Focus left the dialog: traversing past its last node goes back to the
+    // first one, and the other way round.
+    private void trapFocus(Node oldOwner) {
+        List<Node> focusable = focusableNodes();
+        if ( focusable.isEmpty() ) {
+            return;
+        }
+        Node first = focusable.get( 0 );
+        Node last = focusable.get( focusable.size() - 1 );
+        if ( oldOwner == first && first != last ) {
+            last.requestFocus();
+        } else {
+            first.requestFocus();
+        }
+    }
+
+    private List<Node> focusableNodes() {
+        List<Node> nodes = new ArrayList<>();
+        addFocusableNodes( panel.getCenter(), nodes );
+        return nodes;
+    }
+
+    private static void addFocusableNodes(Node node, List<Node> nodes) {
+        if ( node == null || !node.isVisible() || node.isDisabled() ) {
+            return;
+        }
+        if ( node.isFocusTraversable() ) {
+            nodes.add( node );
+        }
+        if ( node instanceof Parent ) {
+            for ( Node child : ( (Parent) node ).getChildrenUnmodifiable() ) {
+                addFocusableNodes( child, nodes );
+            }
+        }
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    /**
+     * The stack pane standing in for the root of a scene while overlays are
+     * shown in it. It puts back what it changed in the scene once its last
+     * scrim is removed.
+     */
+    private static final class OverlayHost extends StackPane
+    {
+        private final Scene scene;
+        private final Parent root;
+        private final List<String> addedStylesheets = new ArrayList<>();
+        private final Map<KeyCombination, Runnable> accelerators;
+
+        OverlayHost(Scene scene) {
+            this.scene = scene;
+            this.root = scene.getRoot();
+            getStyleClass().add( HOST_STYLE_CLASS );
+            // The owner is modal while an overlay is shown, its shortcuts too.
+            accelerators = new HashMap<>( scene.getAccelerators() );
+            scene.getAccelerators().clear();
+            scene.setRoot( this );
+            StackPane.setAlignment( root, Pos.TOP_LEFT );
+            getChildren().add( root );
+        }
+
+        /**
+         * Adds a stylesheet to the scene until the last overlay is hidden,
+         * unless the scene already has it.
+         */
+        void addStylesheet(String stylesheet) {
+            if ( !scene.getStylesheets().contains( stylesheet ) ) {
+                scene.getStylesheets().add( stylesheet );
+                addedStylesheets.add( stylesheet );
+            }
+        }
+
+        void removeStylesheet(String stylesheet) {
+            if ( addedStylesheets.remove( stylesheet ) ) {
+                scene.getStylesheets().remove( stylesheet );
+            }
+        }
+
+        void remove(Node scrim) {
+            getChildren().remove( scrim );
+            if ( getChildren().size() == 1 ) {
+                restore();
+            }
+        }
+
+        private void restore() {
+            getChildren().remove( root );
+            StackPane.setAlignment( root, null );
+            scene.setRoot( root );
+            scene.getStylesheets().removeAll( addedStylesheets );
+            addedStylesheets.clear();
+            // Drops the shortcuts the dialogs' default and cancel buttons added.
+            scene.getAccelerators().clear();
+            scene.getAccelerators().putAll( accelerators );
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package javafx.scene.control;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.animation.PauseTransition;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.stage.StageStyle;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
+
+/**
+ * Bounded pool of hidden {@link FXDialog} instances.
+ * <p>
+ * Creating the native window, the scene and the window decorations (and
+ * applying the stylesheet to them) is the most expensive part of showing a
+ * dialog. Since a stage's owner and modality can't be changed once set, idle
+ * dialogs are kept per owner and modality and handed out again with new
+ * content instead of being thrown away after each use.
+ * <p>
+ * Idle dialogs are evicted when they exceed the configured limits, when they
+ * stay unused longer than the idle timeout, or when their owner is hidden.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread.
+ */
+class DialogPool
+{
+    static final int DEFAULT_MAX_IDLE_PER_OWNER = 2;
+    static final int DEFAULT_MAX_IDLE = 8;
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60 * 1000;
+
+    private static int maxIdlePerOwner = DEFAULT_MAX_IDLE_PER_OWNER;
+    private static int maxIdle = DEFAULT_MAX_IDLE;
+    private static long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+    // Idle dialogs per owner and modality, least recently used key first.
+    private static final Map<PoolKey, Deque<IdleDialog>> idleDialogs = new LinkedHashMap<>( 16, 0.75f, true );
+    private static int idleCount = 0;
+
+    private static long createdCount = 0;
+    private static long reusedCount = 0;
+
+    private static PauseTransition evictionTimer;
+
+    private static final EventHandler<WindowEvent> OWNER_HIDDEN_HANDLER = new EventHandler<WindowEvent>()
+    {
+        @Override
+        public void handle(WindowEvent event) {
+            evictOwner( (Window) event.getSource() );
+        }
+    };
+
+    private DialogPool() {
+        // no-op as we don't want people creating instances of this class
+    }
+
+    //---- Configuration ----------------------------------------------------------------
+
+    static void setLimits(int maxIdlePerOwner, int maxIdle, long idleTimeoutMillis) {
+        if ( maxIdlePerOwner < 0 || maxIdle < 0 || idleTimeoutMillis < 0 ) {
+            throw new IllegalArgumentException( "Dialog pool limits must not be negative" );
+        }
+        DialogPool.maxIdlePerOwner = maxIdlePerOwner;
+        DialogPool.maxIdle = maxIdle;
+        DialogPool.idleTimeoutMillis = idleTimeoutMillis;
+        trim();
+    }
+
+    //---- Pool API ---------------------------------------------------------------------
+
+    /**
+     * Returns an idle dialog for the given owner and modality, or a newly
+     * created one if there is none. The dialog is titled and ready to get
+     * new content.
+     */
+    static FXDialog acquire(String title, Window owner, boolean modal) {
+        return acquire( title, owner, modal, StageStyle.TRANSPARENT );
+    }
+
+    /**
+     * Same as {@link #acquire(String, Window, boolean)}, for a dialog whose
+     * window has the given style.
+     */
+    static FXDialog acquire(String title, Window owner, boolean modal, StageStyle stageStyle) {
+        evictExpired();
+
+        PoolKey key = new PoolKey( owner, modal, stageStyle );
+        Deque<IdleDialog> queue = idleDialogs.get( key );
+        if ( queue != null && !queue.isEmpty() ) {
+            FXDialog dialog = queue.pollFirst().dialog;
+            idleCount--;
+            reusedCount++;
+            dialog.setTitle( title );
+            return dialog;
+        }
+
+        createdCount++;
+        FXDialog dialog = new FXDialog( title, owner, modal, stageStyle );
+        dialog.setPoolKey( key );
+        return dialog;
+    }
+
+    /**
+     * Gives a hidden dialog back to the pool. Dialogs exceeding the pool
+     * limits are simply dropped.
+     */
+    static void release(FXDialog dialog) {
+        PoolKey key = dialog.getPoolKey();
+        if ( key == null || dialog.isShowing() ) {
+            return;
+        }
+
+        // Don't keep the previous content (which may be a user provided pane) alive.
+        dialog.resetForReuse();
+
+        if ( maxIdle == 0 || maxIdlePerOwner == 0 || ( key.owner != null && !key.owner.isShowing() ) ) {
+            return;
+        }
+
+        Deque<IdleDialog> queue = idleDialogs.get( key );
+        if ( queue == null ) {
+            queue = new ArrayDeque<>();
+            idleDialogs.put( key, queue );
+            if ( key.owner != null ) {
+                key.owner.addEventHandler( WindowEvent.WINDOW_HIDDEN, OWNER_HIDDEN_HANDLER );
+            }
+        }
+        if ( queue.size() >= maxIdlePerOwner ) {
+            return;
+        }
+
+        queue.addFirst( new IdleDialog( dialog, System.currentTimeMillis() ) );
+        idleCount++;
+        trim();
+        restartEvictionTimer();
+    }
+
+    static int getIdleCount() {
+        return idleCount;
+    }
+
+    static long getCreatedCount() {
+        return createdCount;
+    }
+
+    static long getReusedCount() {
+        return reusedCount;
+    }
+
+    //---- Eviction ---------------------------------------------------------------------
+
+    private static void trim() {
+        // Drop from the least recently used owners first.
+        Iterator<Map.Entry<PoolKey, Deque<IdleDialog>>> it = idleDialogs.entrySet().iterator();
+        while ( it.hasNext() ) {
+            Map.Entry<PoolKey, Deque<IdleDialog>> entry = it.next();
+            Deque<IdleDialog> queue = entry.getValue();
+            while ( !queue.isEmpty() && ( queue.size() > maxIdlePerOwner || idleCount > maxIdle ) ) {
+                queue.pollLast();
+                idleCount--;
+            }
+            if ( queue.isEmpty() ) {
+                removeKey( it, entry.getKey() );
+            }
+        }
+    }
+
+    private static void evictExpired() {
+        long oldest = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<Map.Entry<PoolKey, Deque<IdleDialog>>> it = idleDialogs.entrySet().iterator();
+        while ( it.hasNext() ) {
+            Map.Entry<PoolKey, Deque<IdleDialog>> entry = it.next();
+            Deque<IdleDialog> queue = entry.getValue();
+            // Most recently released dialogs are at the head.
+            while ( !queue.isEmpty() && queue.peekLast().idleSince <= oldest ) {
+                queue.pollLast();
+                idleCount--;
+            }
+            if ( queue.isEmpty() ) {
+                removeKey( it, entry.getKey() );
+            }
+        }
+    }
+
+    private static void evictOwner(Window owner) {
+        Iterator<Map.Entry<PoolKey, Deque<IdleDialog>>> it = idleDialogs.entrySet().iterator();
+        while ( it.hasNext() ) {
+            Map.Entry<PoolKey, Deque<IdleDialog>> entry = it.next();
+            if ( entry.getKey().owner == owner ) {
+                idleCount -= entry.getValue().size();
+                removeKey( it, entry.getKey() );
+            }
+        }
+    }
+
+    private static void removeKey(Iterator<Map.Entry<PoolKey, Deque<IdleDialog>>> it, PoolKey key) {
+        it.remove();
+        if ( key.owner != null && !containsOwner( key.owner ) ) {
+            key.owner.removeEventHandler( WindowEvent.WINDOW_HIDDEN, OWNER_HIDDEN_HANDLER );
+        }
+    }
+
+    private static boolean containsOwner(Window owner) {
+        for ( PoolKey key : idleDialogs.keySet() ) {
+            if ( key.owner == owner ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void restartEvictionTimer() {
+        if ( evictionTimer == null ) {
+            evictionTimer = new PauseTransition();
+            evictionTimer.setOnFinished( new EventHandler<ActionEvent>()
+            {
+                @Override
+                public void handle(ActionEvent event) {
+                    evictExpired();
+                }
+            } );
+        }
+        evictionTimer.stop();
+        evictionTimer.setDuration( Duration.millis( idleTimeoutMillis ) );
+        evictionTimer.playFromStart();
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    /**
+     * Identifies the dialogs that are interchangeable: same owner window
+     * (compared by identity), same modality and same window style.
+     */
+    static final class PoolKey
+    {
+        final Window owner;
+        final boolean modal;
+        final StageStyle stageStyle;
+
+        PoolKey(Window owner, boolean modal, StageStyle stageStyle) {
+            this.owner = owner;
+            this.modal = modal;
+            this.stageStyle = stageStyle;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if ( !( obj instanceof PoolKey ) ) {
+                return false;
+            }
+            PoolKey other = (PoolKey) obj;
+            return owner == other.owner && modal == other.modal && stageStyle == other.stageStyle;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * ( 31 * System.identityHashCode( owner ) + ( modal ? 1 : 0 ) ) + stageStyle.hashCode();
+        }
+    }
+
+    private static final class IdleDialog
+    {
+        final FXDialog dialog;
+        final long idleSince;
+
+        IdleDialog(FXDialog dialog, long idleSince) {
+            this.dialog = dialog;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package javafx.scene.control;
+
+/**
+ * How a dialog is presented.
+ *
+ * @see Dialogs#setDefaultPresentation(DialogPresentation)
+ * @see DialogRequest#withPresentation(DialogPresentation)
+ */
+public enum DialogPresentation
+{
+    /**
+     * In a window of its own, modal for its owner window. The window is
+     * transparent around the dialog, which draws its own title bar and a
+     * drop shadow.
+     */
+    WINDOW,
+
+    /**
+     * Like {@link #WINDOW}, with the same title bar and window buttons, but in
+     * an opaque window and without drop shadow. Opaque windows don't need
+     * per-pixel alpha compositing, which is expensive on software rendered
+     * desktops.
+     */
+    UNDECORATED_WINDOW,
+
+    /**
+     * In an opaque window with the title bar and borders of the platform,
+     * without drop shadow.
+     */
+    DECORATED_WINDOW,
+
+    /**
+     * In a layer of the scene of its owner window, above a scrim that blocks
+     * the rest of the window and with the keyboard focus kept inside the
+     * dialog. No native window is created. Dialogs without owner, or whose
+     * owner has no scene yet, are shown in a window.
+     */
+    OVERLAY
+}
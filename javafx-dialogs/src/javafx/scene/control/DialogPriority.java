@@ -0,0 +1,33 @@
+package javafx.scene.control;
+
+/**
+ * An enumeration used to order the dialogs waiting to be shown to the user.
+ * <p>
+ * Only one dialog is shown at a time per owner window. Pending dialogs are
+ * shown by decreasing priority, and a {@link #CRITICAL} dialog hides a less
+ * important one already on screen until it is answered. No dialog type is
+ * critical by default, it must be requested explicitly.
+ */
+public enum DialogPriority
+{
+    /**
+     * Used for purely informative dialogs.
+     */
+    LOW,
+
+    /**
+     * Used for questions to the user.
+     */
+    NORMAL,
+
+    /**
+     * Used for warnings and errors.
+     */
+    HIGH,
+
+    /**
+     * Used for errors that must interrupt the user, shown before any other
+     * dialog of the same owner, even one being filled in.
+     */
+    CRITICAL
+}
@@ -0,0 +1,87 @@
+package javafx.scene.control;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the counters of the dialog scheduler, which shows one dialog at
+ * a time per owner window and keeps the others waiting.
+ */
+public final class DialogQueueStatistics
+{
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final long scheduledCount;
+    private final long shownCount;
+    private final long preemptedCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    DialogQueueStatistics(int queueDepth, int maxQueueDepth, long scheduledCount, long shownCount,
+            long preemptedCount, long totalWaitNanos, long maxWaitNanos) {
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.scheduledCount = scheduledCount;
+        this.shownCount = shownCount;
+        this.preemptedCount = preemptedCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * @return the number of dialogs currently waiting to be shown.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return the highest number of dialogs that were waiting at the same time.
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * @return the number of dialogs requested so far.
+     */
+    public long getScheduledCount() {
+        return scheduledCount;
+    }
+
+    /**
+     * @return the number of dialogs shown so far.
+     */
+    public long getShownCount() {
+        return shownCount;
+    }
+
+    /**
+     * @return the number of times a dialog was hidden to make room for a
+     *         critical one.
+     */
+    public long getPreemptedCount() {
+        return preemptedCount;
+    }
+
+    /**
+     * @return the average time dialogs waited before being shown.
+     */
+    public long getAverageWaitTime(TimeUnit unit) {
+        return shownCount == 0 ? 0 : unit.convert( totalWaitNanos / shownCount, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * @return the longest time a dialog waited before being shown.
+     */
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert( maxWaitNanos, TimeUnit.NANOSECONDS );
+    }
+
+    @Override
+    public String toString() {
+        return "DialogQueueStatistics[depth=" + queueDepth + ", maxDepth=" + maxQueueDepth
+                + ", scheduled=" + scheduledCount + ", shown=" + shownCount + ", preempted=" + preemptedCount
+                + ", averageWait=" + getAverageWaitTime( TimeUnit.MILLISECONDS ) + "ms"
+                + ", maxWait=" + getMaxWaitTime( TimeUnit.MILLISECONDS ) + "ms]";
+    }
+}
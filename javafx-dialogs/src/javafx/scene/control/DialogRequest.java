@@ -0,0 +1,164 @@
+package javafx.scene.control;
+
+/**
+ * Describes an information, confirmation, warning or error dialog, for the
+ * cases the {@link Dialogs} shortcuts don't cover, such as showing a dialog
+ * with another priority than the default one of its type.
+ * <p>
+ * Requests are immutable, the {@code with} methods return a modified copy:
+ *
+ * <pre>
+ * Dialogs.showDialogAsync( stage, new DialogRequest( DialogType.WARNING, "Disk almost full" )
+ *         .withPriority( DialogPriority.CRITICAL ) );
+ * </pre>
+ */
+public final class DialogRequest
+{
+    private final DialogType type;
+    private final String message;
+    private final String masthead;
+    private final String title;
+    private final DialogOptions options;
+    private final Throwable throwable;
+    private final DialogPriority priority;
+    private final DialogPresentation presentation;
+    // null for the default of the type and options
+    private final Boolean coalesced;
+
+    /**
+     * Creates a request with the default masthead, title, options and
+     * priority of the given type.
+     *
+     * @param type one of {@link DialogType#INFORMATION},
+     *            {@link DialogType#CONFIRMATION}, {@link DialogType#WARNING} or
+     *            {@link DialogType#ERROR}.
+     * @param message the main message displayed by the dialog.
+     */
+    public DialogRequest(DialogType type, String message) {
+        this( type, message, type.getDefaultMasthead(), type.getDefaultTitle(), type.getDefaultOptions(), null,
+                type.getDefaultPriority(), null, null );
+    }
+
+    private DialogRequest(DialogType type, String message, String masthead, String title, DialogOptions options,
+            Throwable throwable, DialogPriority priority, DialogPresentation presentation, Boolean coalesced) {
+        switch ( type ) {
+            case INFORMATION:
+            case CONFIRMATION:
+            case WARNING:
+            case ERROR:
+                break;
+            default:
+                throw new IllegalArgumentException( "Unsupported dialog type: " + type );
+        }
+        if ( priority == null ) {
+            throw new IllegalArgumentException( "Priority must not be null" );
+        }
+        this.type = type;
+        this.message = message;
+        this.masthead = masthead;
+        this.title = title;
+        this.options = options;
+        this.throwable = throwable;
+        this.priority = priority;
+        this.presentation = presentation;
+        this.coalesced = coalesced;
+    }
+
+    public DialogRequest withMasthead(String masthead) {
+        return new DialogRequest( type, message, masthead, title, options, throwable, priority, presentation,
+                coalesced );
+    }
+
+    public DialogRequest withTitle(String title) {
+        return new DialogRequest( type, message, masthead, title, options, throwable, priority, presentation,
+                coalesced );
+    }
+
+    public DialogRequest withOptions(DialogOptions options) {
+        return new DialogRequest( type, message, masthead, title, options, throwable, priority, presentation,
+                coalesced );
+    }
+
+    /**
+     * @param throwable the exception detailed by an error dialog.
+     */
+    public DialogRequest withThrowable(Throwable throwable) {
+        return new DialogRequest( type, message, masthead, title, options, throwable, priority, presentation,
+                coalesced );
+    }
+
+    public DialogRequest withPriority(DialogPriority priority) {
+        return new DialogRequest( type, message, masthead, title, options, throwable, priority, presentation,
+                coalesced );
+    }
+
+    /**
+     * @param presentation how the dialog is shown, null for the default
+     *            presentation.
+     * @see Dialogs#setDefaultPresentation(DialogPresentation)
+     */
+    public DialogRequest withPresentation(DialogPresentation presentation) {
+        return new DialogRequest( type, message, masthead, title, options, throwable, priority, presentation,
+                coalesced );
+    }
+
+    /**
+     * @param coalesced whether the dialog is merged with identical dialogs
+     *            requested in a burst, see
+     *            {@link Dialogs#setCoalescingWindow(long)}. Information and
+     *            error dialogs with only an OK button are merged by default.
+     *            Other dialogs ask for a decision, so they are only merged
+     *            when asked to.
+     */
+    public DialogRequest withCoalescing(boolean coalesced) {
+        return new DialogRequest( type, message, masthead, title, options, throwable, priority, presentation,
+                coalesced );
+    }
+
+    public DialogType getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getMasthead() {
+        return masthead;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public DialogOptions getOptions() {
+        return options;
+    }
+
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    public DialogPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return how the dialog is shown, null for the default presentation.
+     */
+    public DialogPresentation getPresentation() {
+        return presentation;
+    }
+
+    /**
+     * @return whether the dialog is merged with identical dialogs requested
+     *         in a burst.
+     */
+    public boolean isCoalesced() {
+        if ( coalesced != null ) {
+            return coalesced;
+        }
+        return ( type == DialogType.INFORMATION || type == DialogType.ERROR )
+                && ( options == null || options == DialogOptions.OK );
+    }
+}
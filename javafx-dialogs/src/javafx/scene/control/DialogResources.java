@@ -28,8 +28,13 @@ import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedExceptionAction;
 import java.text.MessageFormat;
-import java.util.MissingResourceException;
+import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -40,42 +45,63 @@ import javafx.scene.image.ImageView;
  */
 class DialogResources
 {
-    // Localization strings.
-    private static final ResourceBundle dialogsResourceBundle = ResourceBundle.getBundle( "com.sun.javafx.scene.control.skin.resources.dialog-resources" );
+    private static final Logger LOGGER = Logger.getLogger( DialogResources.class.getName() );
+
+    private static final String BUNDLE_NAME = "com.sun.javafx.scene.control.skin.resources.dialog-resources";
+
+    // Localization strings, resolved once per locale.
+    private static final ConcurrentMap<Locale, LocalizedMessages> messages = new ConcurrentHashMap<>();
+    private static final AtomicLong messageHits = new AtomicLong();
+    private static final AtomicLong messageMisses = new AtomicLong();
+
+    // Decoded icons, shared by all dialogs.
+    static final IconCache iconCache = new IconCache();
 
     /**
      * Method to get an internationalized string from the deployment resource.
      */
     static String getMessage(String key) {
-        try {
-            return dialogsResourceBundle.getString( key );
-        } catch ( MissingResourceException ex ) {
-            // Do not trace this exception, because the key could be
-            // an already translated string.
-            System.out.println( "Failed to get string for key '" + key + "'" );
-            return key;
-        }
+        return getString( key );
     }
 
     /**
-     * Returns a string from the resources
+     * Returns a string from the resources. If there is no such key, the key
+     * itself is returned as it could be an already translated string.
      */
     static String getString(String key) {
-        try {
-            return dialogsResourceBundle.getString( key );
-        } catch ( MissingResourceException mre ) {
-            // Do not trace this exception, because the key could be
-            // an already translated string.
-            System.out.println( "Failed to get string for key '" + key + "'" );
-            return key;
-        }
+        return getLocalizedMessages().getString( key );
     }
 
     /**
      * Returns a string from a resource, substituting argument 1
      */
     static String getString(String key, Object... args) {
-        return MessageFormat.format( getString( key ), args );
+        MessageFormat format = getLocalizedMessages().getFormat( key );
+        // MessageFormat is not thread safe.
+        synchronized ( format ) {
+            return format.format( args );
+        }
+    }
+
+    static CacheStatistics getMessageCacheStatistics() {
+        int size = 0;
+        for ( LocalizedMessages localized : messages.values() ) {
+            size += localized.strings.size();
+        }
+        return new CacheStatistics( messageHits.get(), messageMisses.get(), 0, size );
+    }
+
+    private static LocalizedMessages getLocalizedMessages() {
+        Locale locale = Locale.getDefault();
+        LocalizedMessages localized = messages.get( locale );
+        if ( localized == null ) {
+            localized = new LocalizedMessages( locale, ResourceBundle.getBundle( BUNDLE_NAME, locale ) );
+            LocalizedMessages previous = messages.putIfAbsent( locale, localized );
+            if ( previous != null ) {
+                localized = previous;
+            }
+        }
+        return localized;
     }
 
     /**
@@ -89,20 +115,87 @@ class DialogResources
                     String resourceName = getString( key );
                     URL url = DialogResources.class.getResource( resourceName );
                     if ( url == null ) {
-                        System.out.println( "Can't create ImageView for key '" + key + "', which has resource name '" + resourceName + "' and URL 'null'" );
+                        LOGGER.log( Level.WARNING, "Can''t create ImageView for key ''{0}'', which has resource name ''{1}'' and URL ''null''",
+                                new Object[] { key, resourceName } );
                         return null;
                     }
                     return getIcon( url );
                 }
             } );
         } catch ( Exception ex ) {
-            ex.printStackTrace();
+            LOGGER.log( Level.WARNING, "Can't create ImageView for key '" + key + "'", ex );
             return null;
         }
     }
 
     public static ImageView getIcon(URL url) {
-        return new ImageView( new Image( url.toString() ) );
+        return new ImageView( getImage( url ) );
+    }
+
+    /**
+     * Returns an <code>ImageView</code> showing the given image scaled to the
+     * requested size. The decoded image is shared with all other dialogs.
+     */
+    public static ImageView getIcon(URL url, double width, double height) {
+        return new ImageView( iconCache.get( url, width, height ) );
+    }
+
+    /**
+     * Returns the decoded image for the given URL, decoding it only the first
+     * time it is requested.
+     */
+    static Image getImage(URL url) {
+        return iconCache.get( url, 0, 0 );
     }
 
+    //---- Inner classes ----------------------------------------------------------------
+
+    /**
+     * The strings and message formats of one locale. Keys missing from the
+     * bundle are cached too (resolving to themselves) so that already
+     * translated strings don't hit the bundle again.
+     */
+    private static final class LocalizedMessages
+    {
+        private final Locale locale;
+        private final ResourceBundle bundle;
+        private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, MessageFormat> formats = new ConcurrentHashMap<>();
+
+        LocalizedMessages(Locale locale, ResourceBundle bundle) {
+            this.locale = locale;
+            this.bundle = bundle;
+        }
+
+        String getString(String key) {
+            String value = strings.get( key );
+            if ( value != null ) {
+                messageHits.incrementAndGet();
+                return value;
+            }
+
+            messageMisses.incrementAndGet();
+            if ( bundle.containsKey( key ) ) {
+                value = bundle.getString( key );
+            } else {
+                value = key;
+                LOGGER.log( Level.FINE, "No string for key ''{0}'' in locale {1}, using the key itself",
+                        new Object[] { key, locale } );
+            }
+            String previous = strings.putIfAbsent( key, value );
+            return previous != null ? previous : value;
+        }
+
+        MessageFormat getFormat(String key) {
+            MessageFormat format = formats.get( key );
+            if ( format == null ) {
+                format = new MessageFormat( getString( key ), locale );
+                MessageFormat previous = formats.putIfAbsent( key, format );
+                if ( previous != null ) {
+                    format = previous;
+                }
+            }
+            return format;
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package javafx.scene.control;
+
+/**
+ * The outcome of a dialog shown by a {@link DialogSink}.
+ */
+public final class DialogResult
+{
+    private final DialogRequest request;
+    private final DialogResponse response;
+    private final int requestCount;
+
+    DialogResult(DialogRequest request, DialogResponse response, int requestCount) {
+        this.request = request;
+        this.response = response;
+        this.requestCount = requestCount;
+    }
+
+    /**
+     * @return the request that was shown, or the summary request standing
+     *         for several requests that overflowed the buffer.
+     */
+    public DialogRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return the response provided by the user, null if the dialog could
+     *         not be shown. A summary dialog only has an OK button, its
+     *         response doesn't answer the requests it stands for.
+     */
+    public DialogResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * @return the number of offered requests the dialog stood for, more than
+     *         one for a summary dialog.
+     */
+    public int getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return whether the dialog summarized several requests.
+     */
+    public boolean isSummary() {
+        return requestCount > 1;
+    }
+
+    @Override
+    public String toString() {
+        return "DialogResult[" + request.getType() + ", response=" + response + ", requests=" + requestCount + "]";
+    }
+}
@@ -0,0 +1,366 @@
+package javafx.scene.control;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.stage.Window;
+import javafx.util.Callback;
+
+/**
+ * Shows dialogs one at a time per owner window, most important first.
+ * <p>
+ * Each owner has a single lane: one dialog on screen and a priority queue of
+ * pending ones, ordered by {@link DialogPriority} and then by arrival. A
+ * {@link DialogPriority#CRITICAL} dialog hides a less important dialog on
+ * screen, which goes back to the head of the queue and is shown again, with
+ * its state, once the critical one is answered.
+ * <p>
+ * Dialogs are only built when their turn comes, so a long queue doesn't hold
+ * one window per pending dialog.
+ * <p>
+ * A dialog requested while the one on screen runs a handler, e.g. its
+ * callback, doesn't wait for it: the handler may itself wait for the new
+ * dialog. It is shown right away, in a lane nested in the busy dialog.
+ * <p>
+ * The lifecycle of every dialog is reported to the {@link DialogMetrics} set
+ * with {@link #setMetrics(DialogMetrics)}, if any.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread. Statistics can be read from any thread.
+ */
+class DialogScheduler
+{
+    private static final Logger LOGGER = Logger.getLogger( DialogScheduler.class.getName() );
+
+    // Lanes by owner, compared by identity. The null key is the lane of dialogs without owner.
+    private static final Map<OwnerKey, Lane> lanes = new HashMap<>();
+
+    private static long sequence = 0;
+    private static int queueDepth = 0;
+
+    private static volatile int maxQueueDepth = 0;
+    private static final AtomicLong scheduledCount = new AtomicLong();
+    private static final AtomicLong shownCount = new AtomicLong();
+    private static final AtomicLong preemptedCount = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private static volatile DialogMetrics metrics;
+
+    private DialogScheduler() {
+        // no-op as we don't want people creating instances of this class
+    }
+
+    /**
+     * Queues a dialog for the given owner. The factory is called once the
+     * dialog is about to be shown.
+     */
+    static <T> ScheduledDialog<T> schedule(Window owner, DialogType type, DialogPriority priority,
+            Callable<DialogTemplate<T>> factory) {
+
+        Lane lane = laneOf( owner );
+        final ScheduledDialog<T> dialog = new ScheduledDialog<>( lane, type, priority, factory, sequence++ );
+        scheduledCount.incrementAndGet();
+        dialog.future.setCanceller( new Runnable()
+        {
+            @Override
+            public void run() {
+                dialog.hide();
+            }
+        } );
+        dialog.future.addListener( new Callback<DialogFuture<DialogResponse>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<DialogResponse> done) {
+                finished( dialog );
+                return null;
+            }
+        } );
+
+        ScheduledDialog<?> current = lane.current;
+        if ( current != null && priority == DialogPriority.CRITICAL
+                && current.priority.compareTo( DialogPriority.CRITICAL ) < 0 ) {
+            // Make room for the critical dialog, the preempted one keeps its place.
+            preemptedCount.incrementAndGet();
+            lane.current = null;
+            enqueue( current );
+            current.template.suspend();
+        }
+
+        enqueue( dialog );
+        showNext( lane );
+        return dialog;
+    }
+
+    static void setMetrics(DialogMetrics metrics) {
+        DialogScheduler.metrics = metrics;
+    }
+
+    static DialogMetrics getMetrics() {
+        return metrics;
+    }
+
+    static DialogQueueStatistics getStatistics() {
+        return new DialogQueueStatistics( queueDepth, maxQueueDepth, scheduledCount.get(), shownCount.get(),
+                preemptedCount.get(), totalWaitNanos.get(), maxWaitNanos.get() );
+    }
+
+    //---- Implementation ---------------------------------------------------------------
+
+    /**
+     * @return the lane of the owner or, if its dialog on screen is running a
+     *         handler, the lane nested in that dialog. The handler may wait
+     *         for the new dialog, which must not wait for the handler's.
+     */
+    private static Lane laneOf(Window owner) {
+        OwnerKey key = new OwnerKey( owner );
+        Lane lane = lanes.get( key );
+        if ( lane == null ) {
+            lane = new Lane( key, null );
+            lanes.put( key, lane );
+        }
+        while ( lane.current != null && lane.current.isHandlingEvent() ) {
+            ScheduledDialog<?> busy = lane.current;
+            if ( busy.nested == null ) {
+                busy.nested = new Lane( key, busy );
+            }
+            lane = busy.nested;
+        }
+        return lane;
+    }
+
+    private static void enqueue(ScheduledDialog<?> dialog) {
+        dialog.lane.pending.add( dialog );
+        queueDepth++;
+        if ( queueDepth > maxQueueDepth ) {
+            maxQueueDepth = queueDepth;
+        }
+    }
+
+    private static void showNext(Lane lane) {
+        while ( lane.current == null && !lane.pending.isEmpty() ) {
+            ScheduledDialog<?> next = lane.pending.poll();
+            queueDepth--;
+            if ( next.future.isDone() ) {
+                continue;
+            }
+            try {
+                next.show();
+            } catch ( Exception ex ) {
+                next.future.fail( ex );
+                continue;
+            }
+            lane.current = next;
+        }
+        if ( lane.current == null ) {
+            if ( lane.parent == null ) {
+                lanes.remove( lane.key );
+            } else if ( lane.parent.nested == lane ) {
+                lane.parent.nested = null;
+            }
+        }
+    }
+
+    private static void finished(ScheduledDialog<?> dialog) {
+        Lane lane = dialog.lane;
+        if ( lane.current == dialog ) {
+            lane.current = null;
+            showNext( lane );
+        } else if ( lane.pending.remove( dialog ) ) {
+            queueDepth--;
+        }
+    }
+
+    private static void recordWait(long waitNanos) {
+        shownCount.incrementAndGet();
+        totalWaitNanos.addAndGet( waitNanos );
+        long max;
+        while ( waitNanos > ( max = maxWaitNanos.get() ) && !maxWaitNanos.compareAndSet( max, waitNanos ) ) {
+            // retry
+        }
+    }
+
+    private static enum Phase
+    {
+        BUILD_STARTED, BUILD_FINISHED, SHOWN, RESPONDED, HIDDEN
+    }
+
+    // A failing metrics implementation must not break the dialogs.
+    private static void emit(Phase phase, DialogMetricsEvent event) {
+        DialogMetrics current = metrics;
+        if ( current == null ) {
+            return;
+        }
+        try {
+            switch ( phase ) {
+                case BUILD_STARTED:
+                    current.buildStarted( event );
+                    break;
+                case BUILD_FINISHED:
+                    current.buildFinished( event );
+                    break;
+                case SHOWN:
+                    current.shown( event );
+                    break;
+                case RESPONDED:
+                    current.responded( event );
+                    break;
+                case HIDDEN:
+                    current.hidden( event );
+                    break;
+            }
+        } catch ( RuntimeException ex ) {
+            LOGGER.log( Level.WARNING, "Dialog metrics failed", ex );
+        }
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    /**
+     * A dialog waiting in, or shown by, the scheduler.
+     */
+    static final class ScheduledDialog<T> implements Comparable<ScheduledDialog<?>>
+    {
+        final DialogFuture<DialogResponse> future = new DialogFuture<>();
+        private final Lane lane;
+        private final DialogType type;
+        private final DialogPriority priority;
+        private final Callable<DialogTemplate<T>> factory;
+        private final long sequence;
+        private final long scheduledAt = System.nanoTime();
+        private DialogTemplate<T> template;
+        // dialogs requested while this one runs a handler, see laneOf()
+        private Lane nested;
+        private int occurrences = 1;
+        private long shownAt;
+
+        ScheduledDialog(Lane lane, DialogType type, DialogPriority priority, Callable<DialogTemplate<T>> factory,
+                long sequence) {
+            this.lane = lane;
+            this.type = type;
+            this.priority = priority;
+            this.factory = factory;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return the dialog template, null until the dialog was shown.
+         */
+        DialogTemplate<T> getTemplate() {
+            return template;
+        }
+
+        /**
+         * Sets the occurrence counter of the dialog, kept until it is built if
+         * it is still waiting.
+         */
+        void setOccurrences(int occurrences) {
+            this.occurrences = occurrences;
+            if ( template != null ) {
+                template.setOccurrences( occurrences );
+            }
+        }
+
+        private void show() throws Exception {
+            if ( template == null ) {
+                emit( Phase.BUILD_STARTED, event( null, 0 ) );
+                long buildStart = System.nanoTime();
+                try {
+                    template = factory.call();
+                } finally {
+                    // also when building failed, so that builds in progress add up
+                    emit( Phase.BUILD_FINISHED, event( null, System.nanoTime() - buildStart ) );
+                }
+                if ( occurrences > 1 ) {
+                    template.setOccurrences( occurrences );
+                }
+                template.setResponseListener( new Callback<DialogResponse, Void>()
+                {
+                    @Override
+                    public Void call(DialogResponse response) {
+                        emit( Phase.RESPONDED, event( response, System.nanoTime() - shownAt ) );
+                        return null;
+                    }
+                } );
+                if ( template.getDialog() != null ) {
+                    template.getDialog().centerOnScreen();
+                }
+                template.showAsync().addListener( new Callback<DialogFuture<DialogResponse>, Void>()
+                {
+                    @Override
+                    public Void call(DialogFuture<DialogResponse> done) {
+                        DialogResponse response = done.getNow( DialogResponse.CLOSED );
+                        emit( Phase.HIDDEN, event( response, System.nanoTime() - shownAt ) );
+                        future.complete( response );
+                        return null;
+                    }
+                } );
+                shownAt = System.nanoTime();
+                recordWait( shownAt - scheduledAt );
+                emit( Phase.SHOWN, event( null, shownAt - scheduledAt ) );
+            } else {
+                // Shown again after being preempted.
+                template.showAsync();
+            }
+        }
+
+        private DialogMetricsEvent event(DialogResponse response, long elapsedNanos) {
+            DialogOptions options = template == null ? null : template.getOptions();
+            return new DialogMetricsEvent( type, options, lane.key.owner, response, elapsedNanos );
+        }
+
+        private boolean isHandlingEvent() {
+            return template != null && template.isHandlingEvent();
+        }
+
+        private void hide() {
+            if ( template != null ) {
+                template.cancel();
+            }
+        }
+
+        @Override
+        public int compareTo(ScheduledDialog<?> other) {
+            int result = other.priority.compareTo( priority );
+            return result != 0 ? result : Long.compare( sequence, other.sequence );
+        }
+    }
+
+    private static final class Lane
+    {
+        final OwnerKey key;
+        // the dialog this lane is nested in, null for the lane of the owner
+        final ScheduledDialog<?> parent;
+        final PriorityQueue<ScheduledDialog<?>> pending = new PriorityQueue<>();
+        ScheduledDialog<?> current;
+
+        Lane(OwnerKey key, ScheduledDialog<?> parent) {
+            this.key = key;
+            this.parent = parent;
+        }
+    }
+
+    private static final class OwnerKey
+    {
+        final Window owner;
+
+        OwnerKey(Window owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof OwnerKey && ( (OwnerKey) obj ).owner == owner;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode( owner );
+        }
+    }
+}
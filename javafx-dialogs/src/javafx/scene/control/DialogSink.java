@@ -0,0 +1,279 @@
+package javafx.scene.control;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+
+/**
+ * Shows a stream of dialog requests, one after the other, only as fast as the
+ * user dismisses them.
+ * <p>
+ * Requests can be offered from any thread and are kept in a bounded buffer.
+ * The sink takes the next request from the buffer when the previous dialog
+ * is closed, so however fast requests are offered, at most one dialog is
+ * built and a single task is waiting on the JavaFX Application Thread. What
+ * happens when the buffer is full is decided by the {@link OverflowPolicy}.
+ * <p>
+ * The result of every dialog shown is published to the listeners registered
+ * with {@link #addResultListener(Callback)}, on the JavaFX Application Thread.
+ *
+ * <pre>
+ * DialogSink sink = new DialogSink( stage, 10, DialogSink.OverflowPolicy.SUMMARIZE );
+ * for ( Alert alert : alerts ) {
+ *     sink.offer( new DialogRequest( DialogType.WARNING, alert.getText() ) );
+ * }
+ * </pre>
+ */
+public final class DialogSink
+{
+    private static final Logger LOGGER = Logger.getLogger( DialogSink.class.getName() );
+
+    private static final String summaryMastheadStr = "dialog.summary.masthead";
+    private static final String summaryMessageStr = "dialog.summary.message";
+
+    /**
+     * What to do with a request offered while the buffer is full.
+     */
+    public enum OverflowPolicy
+    {
+        /**
+         * The oldest buffered request is dropped to make room.
+         */
+        DROP_OLDEST,
+
+        /**
+         * The offered request is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Requests that don't fit are collapsed into one summary dialog,
+         * shown after the requests buffered when the first of them came, even
+         * if the buffer keeps being refilled, with the priority of the most
+         * important of them. The summary is an error, a warning or else an
+         * information dialog with an OK button only, whatever the collapsed
+         * requests were asking.
+         */
+        SUMMARIZE
+    }
+
+    private final Stage owner;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final List<Callback<DialogResult, Void>> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this.
+    private final ArrayDeque<DialogRequest> buffer;
+    private DialogRequest summarized;
+    private int summarizedCount;
+    // buffered requests still shown before the pending summary
+    private int shownBeforeSummary;
+    private boolean draining;
+    private boolean closed;
+
+    private final AtomicLong offeredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final Runnable drainTask = new Runnable()
+    {
+        @Override
+        public void run() {
+            showNext();
+        }
+    };
+
+    /**
+     * @param owner Component to parent the dialogs to.
+     * @param bufferSize the maximum number of requests waiting to be shown.
+     * @param overflowPolicy what to do with requests that don't fit in the
+     *            buffer.
+     */
+    public DialogSink(Stage owner, int bufferSize, OverflowPolicy overflowPolicy) {
+        if ( bufferSize < 1 ) {
+            throw new IllegalArgumentException( "Buffer size must be at least 1" );
+        }
+        if ( overflowPolicy == null ) {
+            throw new IllegalArgumentException( "Overflow policy must not be null" );
+        }
+        this.owner = owner;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new ArrayDeque<>( bufferSize );
+    }
+
+    /**
+     * Offers a request to be shown once the dialogs before it are closed. Can
+     * be called from any thread and never blocks.
+     *
+     * @param request the dialog to show.
+     * @return false if the request was dropped right away.
+     * @throws IllegalStateException if the sink was closed.
+     */
+    public boolean offer(DialogRequest request) {
+        if ( request == null ) {
+            throw new IllegalArgumentException( "Request must not be null" );
+        }
+        boolean accepted = true;
+        boolean startDraining;
+        synchronized ( this ) {
+            if ( closed ) {
+                throw new IllegalStateException( "Dialog sink is closed" );
+            }
+            offeredCount.incrementAndGet();
+            if ( buffer.size() < bufferSize ) {
+                buffer.add( request );
+            } else {
+                switch ( overflowPolicy ) {
+                    case DROP_OLDEST:
+                        buffer.poll();
+                        buffer.add( request );
+                        droppedCount.incrementAndGet();
+                        break;
+                    case DROP_NEWEST:
+                        droppedCount.incrementAndGet();
+                        accepted = false;
+                        break;
+                    case SUMMARIZE:
+                        summarize( request );
+                        break;
+                }
+            }
+            startDraining = accepted && !draining;
+            draining |= startDraining;
+        }
+        if ( startDraining ) {
+            Platform.runLater( drainTask );
+        }
+        return accepted;
+    }
+
+    /**
+     * Stops accepting requests. Requests already offered are still shown.
+     */
+    public synchronized void close() {
+        closed = true;
+    }
+
+    /**
+     * Registers a listener called on the JavaFX Application Thread with the
+     * result of every dialog closed.
+     */
+    public void addResultListener(Callback<DialogResult, Void> listener) {
+        listeners.add( listener );
+    }
+
+    public void removeResultListener(Callback<DialogResult, Void> listener) {
+        listeners.remove( listener );
+    }
+
+    /**
+     * @return the number of requests waiting to be shown, a pending summary
+     *         counting as one.
+     */
+    public synchronized int getBufferedCount() {
+        return buffer.size() + ( summarizedCount > 0 ? 1 : 0 );
+    }
+
+    public long getOfferedCount() {
+        return offeredCount.get();
+    }
+
+    /**
+     * @return the number of requests dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    //---- Implementation ---------------------------------------------------------------
+
+    // Called with the lock held.
+    private void summarize(DialogRequest request) {
+        summarizedCount++;
+        if ( summarized == null ) {
+            // The summary takes its turn after the requests buffered so far.
+            summarized = request;
+            shownBeforeSummary = buffer.size();
+            return;
+        }
+        DialogType type = severity( summaryType( request ) ) > severity( summaryType( summarized ) )
+                ? summaryType( request ) : summaryType( summarized );
+        DialogPriority priority = request.getPriority().compareTo( summarized.getPriority() ) > 0
+                ? request.getPriority() : summarized.getPriority();
+        summarized = new DialogRequest( type, null ).withPriority( priority );
+    }
+
+    // A summary only informs, it never asks a question on behalf of the
+    // requests it stands for.
+    private static DialogType summaryType(DialogRequest request) {
+        switch ( request.getType() ) {
+            case ERROR:
+            case WARNING:
+                return request.getType();
+            default:
+                return DialogType.INFORMATION;
+        }
+    }
+
+    // Only called with a summary type.
+    private static int severity(DialogType type) {
+        return type == DialogType.ERROR ? 2 : type == DialogType.WARNING ? 1 : 0;
+    }
+
+    private void showNext() {
+        final DialogRequest request;
+        final int requestCount;
+        synchronized ( this ) {
+            if ( !buffer.isEmpty() && ( summarizedCount == 0 || shownBeforeSummary > 0 ) ) {
+                request = buffer.poll();
+                requestCount = 1;
+                if ( summarizedCount > 0 ) {
+                    shownBeforeSummary--;
+                }
+            } else if ( summarizedCount > 0 ) {
+                request = summarizedCount == 1 ? summarized : summaryRequest( summarized, summarizedCount );
+                requestCount = summarizedCount;
+                summarized = null;
+                summarizedCount = 0;
+            } else {
+                draining = false;
+                return;
+            }
+        }
+
+        Dialogs.showDialogAsync( owner, request ).addListener( new Callback<DialogFuture<DialogResponse>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<DialogResponse> done) {
+                publish( new DialogResult( request, done.getNow( null ), requestCount ) );
+                // Let the dialog close before showing the next one.
+                Platform.runLater( drainTask );
+                return null;
+            }
+        } );
+    }
+
+    private static DialogRequest summaryRequest(DialogRequest template, int count) {
+        return new DialogRequest( summaryType( template ), DialogResources.getString( summaryMessageStr, count ) )
+                .withMasthead( DialogResources.getMessage( summaryMastheadStr ) )
+                .withOptions( DialogOptions.OK )
+                .withPriority( template.getPriority() );
+    }
+
+    private void publish(DialogResult result) {
+        for ( Callback<DialogResult, Void> listener : listeners ) {
+            try {
+                listener.call( result );
+            } catch ( RuntimeException ex ) {
+                LOGGER.log( Level.WARNING, "Dialog result listener failed", ex );
+            }
+        }
+    }
+}
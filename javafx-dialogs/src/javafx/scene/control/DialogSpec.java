@@ -0,0 +1,157 @@
+package javafx.scene.control;
+
+import java.text.MessageFormat;
+
+import javafx.scene.layout.Pane;
+import javafx.util.Callback;
+
+/**
+ * Describes the structure of a dialog shown many times with different texts,
+ * e.g. a confirmation asked for every deleted file.
+ * <p>
+ * The first time a spec is shown for an owner, its dialog is built as usual.
+ * Once hidden, the dialog is kept with all its nodes: showing the spec again
+ * only updates the title, masthead and message labels. The title, masthead
+ * and message are {@link MessageFormat} patterns, formatted with the
+ * arguments given when the spec is shown.
+ * <p>
+ * Specs are immutable, the {@code with} methods return a modified copy. Keep
+ * the spec in a constant to benefit from the reuse:
+ *
+ * <pre>
+ * static final DialogSpec CONFIRM_DELETE = new DialogSpec( DialogType.CONFIRMATION )
+ *         .withMessage( "Delete {0}?" )
+ *         .withOptions( DialogOptions.YES_NO );
+ *
+ * Dialogs.showDialog( stage, CONFIRM_DELETE, file.getName() );
+ * </pre>
+ *
+ * The dialogs kept for a spec are dropped with it, they don't hold it.
+ */
+public final class DialogSpec
+{
+    private final DialogType type;
+    private final String title;
+    private final String masthead;
+    private final String message;
+    private final DialogOptions options;
+    private final DialogInput input;
+    private final Callback<Void, Pane> contentFactory;
+    private final DialogPresentation presentation;
+
+    /**
+     * Creates a spec with the default masthead, title and options of the
+     * given type, and no message. The dialog asks for a text if the type is
+     * {@link DialogType#INPUT}.
+     */
+    public DialogSpec(DialogType type) {
+        this( type, type.getDefaultTitle(), type.getDefaultMasthead(), null, type.getDefaultOptions(),
+                type == DialogType.INPUT ? DialogInput.TEXT : DialogInput.NONE, null, null );
+    }
+
+    private DialogSpec(DialogType type, String title, String masthead, String message, DialogOptions options,
+            DialogInput input, Callback<Void, Pane> contentFactory, DialogPresentation presentation) {
+        if ( type == null || input == null ) {
+            throw new IllegalArgumentException( "Type and input must not be null" );
+        }
+        if ( contentFactory != null && input != DialogInput.NONE ) {
+            throw new IllegalArgumentException( "A dialog with custom content can't ask for an input" );
+        }
+        this.type = type;
+        this.title = title;
+        this.masthead = masthead;
+        this.message = message;
+        this.options = options;
+        this.input = input;
+        this.contentFactory = contentFactory;
+        this.presentation = presentation;
+    }
+
+    public DialogSpec withTitle(String title) {
+        return new DialogSpec( type, title, masthead, message, options, input, contentFactory, presentation );
+    }
+
+    public DialogSpec withMasthead(String masthead) {
+        return new DialogSpec( type, title, masthead, message, options, input, contentFactory, presentation );
+    }
+
+    public DialogSpec withMessage(String message) {
+        return new DialogSpec( type, title, masthead, message, options, input, contentFactory, presentation );
+    }
+
+    /**
+     * @param options the buttons of the dialog. Dialogs asking for a text
+     *            always have OK and Cancel buttons.
+     */
+    public DialogSpec withOptions(DialogOptions options) {
+        return new DialogSpec( type, title, masthead, message, options, input, contentFactory, presentation );
+    }
+
+    public DialogSpec withInput(DialogInput input) {
+        return new DialogSpec( type, title, masthead, message, options, input, contentFactory, presentation );
+    }
+
+    /**
+     * @param contentFactory creates the content shown instead of the message.
+     *            It is called once per dialog built, the content is then
+     *            kept for the next times the dialog is shown.
+     */
+    public DialogSpec withContent(Callback<Void, Pane> contentFactory) {
+        return new DialogSpec( type, title, masthead, message, options, input, contentFactory, presentation );
+    }
+
+    /**
+     * @param presentation how the dialog is shown, null for the default
+     *            presentation.
+     * @see Dialogs#setDefaultPresentation(DialogPresentation)
+     */
+    public DialogSpec withPresentation(DialogPresentation presentation) {
+        return new DialogSpec( type, title, masthead, message, options, input, contentFactory, presentation );
+    }
+
+    public DialogType getType() {
+        return type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMasthead() {
+        return masthead;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public DialogOptions getOptions() {
+        return options;
+    }
+
+    public DialogInput getInput() {
+        return input;
+    }
+
+    public Callback<Void, Pane> getContentFactory() {
+        return contentFactory;
+    }
+
+    /**
+     * @return how the dialog is shown, null for the default presentation.
+     */
+    public DialogPresentation getPresentation() {
+        return presentation;
+    }
+
+    /**
+     * @return the given pattern formatted with the arguments, the pattern
+     *         itself if there are none.
+     */
+    static String format(String pattern, Object[] arguments) {
+        if ( pattern == null || arguments == null || arguments.length == 0 ) {
+            return pattern;
+        }
+        return MessageFormat.format( pattern, arguments );
+    }
+}
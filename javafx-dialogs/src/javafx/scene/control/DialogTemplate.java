@@ -31,19 +31,19 @@ import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.event.EventDispatchChain;
+import javafx.event.EventDispatcher;
 import javafx.event.EventHandler;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
-import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.stage.Window;
+import javafx.stage.WindowEvent;
 import javafx.util.Callback;
 
 import java.util.List;
@@ -59,30 +59,42 @@ class DialogTemplate<T> {
 	// Defines max dialog width.
 	static final int DIALOG_WIDTH = 516;
 
+	// Above this number of choices, a filterable list replaces the ComboBox.
+	static final int TYPE_AHEAD_THRESHOLD = 500;
+
 	// According to the UI spec, the width of the main message text in the upper
 	// panel should be 426 pixels.
 	private static int MAIN_TEXT_WIDTH = 400;
 
-	private FXDialog dialog;
-	private VBox contentPane;
+	// a window of its own, or a layer in the scene of the owner
+	private final DialogHost dialog;
+	// masthead, content and buttons, laid out without nested panes
+	private DialogLayout contentPane;
 	private DialogType dialogType = DialogType.INFORMATION;
 	private final DialogOptions options;
 	private DialogResponse userResponse = DialogResponse.CLOSED;
+	// completed with userResponse once the dialog is hidden
+	private DialogFuture<DialogResponse> responseFuture;
+	// set while the dialog is hidden to make room for a more important one
+	private boolean suspended;
 	private DialogStyle style;
 	// for user input dialogs (textfield / choicebox / combobox)
 	private T initialInputValue;
 	private List<T> inputChoices;
+	private ChoicePageProvider<T> choiceProvider;
 	// !CHANGE START! change to property so we can use binding
 	private Property<T> userInputResponse;
 	// !CHANGE END!
 	// masthead
 	private String mastheadString;
-	private BorderPane mastheadPanel;
 	private ImageView mastheadIcon;
 	private UITextArea mastheadTextArea;
 	// center
-	private Pane centerPanel;
 	private String contentString = null;
+	// the nodes showing contentString, updated by rebind()
+	private MessageView messageView;
+	private Label inputLabel;
+	private TextInputControl inputField;
 	// Buttons
 	private ObservableList<Button> buttons;
 	private static final String okBtnStr = "common.ok.btn";
@@ -90,6 +102,7 @@ class DialogTemplate<T> {
 	private static final String noBtnStr = "common.no.btn";
 	private static final String cancelBtnStr = "common.cancel.btn";
 	private static final String detailBtnStr = "common.detail.button";
+	private static final String occurrencesStr = "dialog.occurrences";
 	// This is used in the exception dialog only.
 	private Throwable throwable = null;
 	// Visual indication of security level alert - either high or medium.
@@ -103,15 +116,64 @@ class DialogTemplate<T> {
 	// Custom panel
 	private Pane customContentPanel;
 	private Callback<Void, Void> callback;
+	// Validation of the user input, OK only closes the dialog once it passes
+	private InputValidation<?> validation;
+	private Button okButton;
+	// Told of the response chosen by the user, before the dialog is hidden
+	private Callback<DialogResponse, Void> responseListener;
+	// when the dialog was last shown, for tracing
+	private long traceShownAt;
+	// Given the hidden dialog instead of the pool, to show it again.
+	private Callback<DialogTemplate<T>, Void> recycler;
+	// Events being dispatched to the content and responses being handled,
+	// more than one when a handler shows a dialog and waits for it.
+	private int handlerDepth;
 
 	//---- Constructors -----------------------------------------------------------------
 
 	DialogTemplate(Stage owner, String title, String masthead, DialogOptions options) {
-		this.dialog = new FXDialog(title, owner, true);
-		this.contentPane = new VBox();
+		this(owner, title, masthead, options, null);
+	}
+
+	/**
+	 * @param presentation how the dialog is shown, null for the default presentation.
+	 */
+	DialogTemplate(Stage owner, String title, String masthead, DialogOptions options,
+			DialogPresentation presentation) {
+		long traceStart = DialogTracer.start();
+		this.dialog = DialogOverlay.isOverlay(presentation, owner)
+				? new DialogOverlay(title, owner)
+				: DialogPool.acquire(title, owner, true, FXDialog.stageStyleOf(presentation));
+		this.contentPane = new DialogLayout();
+		final EventDispatcher contentDispatcher = contentPane.getEventDispatcher();
+		this.contentPane.setEventDispatcher(new EventDispatcher() {
+			@Override
+			public Event dispatchEvent(Event event, EventDispatchChain tail) {
+				handlerDepth++;
+				try {
+					return contentDispatcher.dispatchEvent(event, tail);
+				} finally {
+					handlerDepth--;
+				}
+			}
+		});
 		this.dialog.setContentPane(contentPane);
+		this.dialog.setOnHidden(new EventHandler<WindowEvent>() {
+			@Override
+			public void handle(WindowEvent event) {
+				if (!suspended) {
+					if (validation != null) {
+						validation.dispose();
+					}
+					responseFuture.complete(userResponse);
+					release();
+				}
+			}
+		});
+		armResponse();
 		this.mastheadString = masthead;
 		this.options = options;
+		DialogTracer.end("construct", dialog, traceStart, null);
 	}
 
 	DialogTemplate(Stage owner, Pane customContent, String title, String masthead, DialogOptions options) {
@@ -125,11 +187,39 @@ class DialogTemplate<T> {
 		this.callback = callback;
 	}
 
+	/**
+	 * Validates the user input of an input or password dialog, must be called once the content is set.
+	 */
+	void setValidator(InputValidator<? super T> validator) {
+		setValidation(new InputValidation<T>(userInputResponse, validator));
+	}
+
+	/**
+	 * Validates the given value of a custom dialog, must be called once the content is set.
+	 */
+	<V> void setValidator(ObservableValue<V> value, InputValidator<? super V> validator) {
+		setValidation(new InputValidation<V>(value, validator));
+	}
+
+	private void setValidation(InputValidation<?> validation) {
+		this.validation = validation;
+		Label validationLabel = new Label();
+		validationLabel.getStyleClass().add("validation-message");
+		validationLabel.textProperty().bind(validation.messageProperty());
+		validationLabel.visibleProperty().bind(validation.invalidProperty());
+		validationLabel.setWrapText(true);
+		contentPane.setButtonsLeft(validationLabel);
+		if (okButton != null) {
+			okButton.disableProperty().bind(validation.invalidProperty());
+		}
+	}
+
 	void setSimpleContent(String contentString, DialogType dialogType) {
 		setSimpleContent(contentString, dialogType, null, true);
 	}
 
 	void setSimpleContent(String contentString, DialogType dialogType, String infoString, boolean useWarningIcon) {
+		long traceStart = DialogTracer.start();
 		this.style = DialogStyle.SIMPLE;
 		this.contentString = contentString;
 		this.dialogType = dialogType == null ? DialogType.WARNING : dialogType;
@@ -143,79 +233,98 @@ class DialogTemplate<T> {
 			}
 		}
 
-		contentPane.getChildren().add(createMasthead());
-		contentPane.getChildren().add(createCenterPanel());
-
-		Pane bottomPanel = createBottomPanel();
-		if (bottomPanel != null) {
-			contentPane.getChildren().add(bottomPanel);
-		}
+		createMasthead();
+		createCenterPanel();
+		contentPane.setBottomPanel(createBottomPanel());
 		dialog.setResizable(false);
+		DialogTracer.end("setSimpleContent", dialog, traceStart, contentPane);
 	}
 
 	void setErrorContent(String contentString, Throwable throwable) {
+		long traceStart = DialogTracer.start();
 		this.style = DialogStyle.ERROR;
 		this.contentString = contentString;
 		this.throwable = throwable;
 		this.dialogType = DialogType.ERROR;
 
-		contentPane.getChildren().add(createMasthead());
-		contentPane.getChildren().add(createCenterPanel());
-
-		Pane bottomPanel = createBottomPanel();
-		if (bottomPanel != null && bottomPanel.getChildren().size() > 0) {
-			contentPane.getChildren().add(bottomPanel);
-		}
+		createMasthead();
+		createCenterPanel();
+		contentPane.setBottomPanel(createBottomPanel());
 		dialog.setResizable(false);
+		DialogTracer.end("setErrorContent", dialog, traceStart, contentPane);
 	}
 
 	void setInputContent(String message, T initialValue, List<T> choices) {
+		long traceStart = DialogTracer.start();
 		this.style = DialogStyle.INPUT;
 		this.contentString = message;
 		this.initialInputValue = initialValue;
 		this.inputChoices = choices;
 
-		contentPane.getChildren().add(createMasthead());
-		contentPane.getChildren().add(createCenterPanel());
-
-		Pane bottomPanel = createBottomPanel();
-		if (bottomPanel != null) {
-			contentPane.getChildren().add(bottomPanel);
-		}
+		createMasthead();
+		createCenterPanel();
+		contentPane.setBottomPanel(createBottomPanel());
 		dialog.setResizable(false);
+		DialogTracer.end("setInputContent", dialog, traceStart, contentPane);
+	}
+
+	void setInputContent(String message, T initialValue, ChoicePageProvider<T> provider) {
+		this.choiceProvider = provider;
+		setInputContent(message, initialValue, (List<T>) null);
 	}
 
 	void setPasswordContent(final String message) {
+		long traceStart = DialogTracer.start();
 		this.style = DialogStyle.PASSWORD;
 		this.contentString = message;
 		this.initialInputValue = null;
 		this.inputChoices = null;
 
-		contentPane.getChildren().add(createMasthead());
-		contentPane.getChildren().add(createCenterPanel());
-
-		Pane bottomPanel = createBottomPanel();
-		if (bottomPanel != null) {
-			contentPane.getChildren().add(bottomPanel);
-		}
+		createMasthead();
+		createCenterPanel();
+		contentPane.setBottomPanel(createBottomPanel());
 		dialog.setResizable(false);
+		DialogTracer.end("setPasswordContent", dialog, traceStart, contentPane);
 	}
 
 	void setCustomContent(Pane customContent) {
+		long traceStart = DialogTracer.start();
 		this.style = DialogStyle.CUSTOM;
 		this.customContentPanel = customContent;
 
-		contentPane.getChildren().add(createMasthead());
-		contentPane.getChildren().add(createCenterPanel());
+		createMasthead();
+		createCenterPanel();
+		contentPane.setBottomPanel(createBottomPanel());
+		dialog.setResizable(false);
+		DialogTracer.end("setCustomContent", dialog, traceStart, contentPane);
+	}
 
-		Pane bottomPanel = createBottomPanel();
-		if (bottomPanel != null) {
-			contentPane.getChildren().add(bottomPanel);
+	private void armResponse() {
+		responseFuture = new DialogFuture<>();
+		responseFuture.setCanceller(new Runnable() {
+			@Override
+			public void run() {
+				if (dialog.isShowing()) {
+					hide();
+				} else {
+					release();
+				}
+			}
+		});
+	}
+
+	// Gives a dialog window back to the pool, overlays are simply dropped.
+	private void release() {
+		if (recycler != null) {
+			recycler.call(this);
+			return;
+		}
+		if (dialog instanceof FXDialog) {
+			DialogPool.release((FXDialog) dialog);
 		}
-		dialog.setResizable(false);
 	}
 
-	private void centerToOwner() {
+	private void centerToOwner(final FXDialog dialog) {
 		Window window = dialog.getOwner();
 
 		// get center of window
@@ -243,19 +352,137 @@ class DialogTemplate<T> {
 
 	//---- 'Public' API -----------------------------------------------------------------
 
+	/**
+	 * @return the dialog window, null if the dialog is shown as an overlay.
+	 */
 	public FXDialog getDialog() {
-		return dialog;
+		return dialog instanceof FXDialog ? (FXDialog) dialog : null;
 	}
 
-	public void show() {
-		centerToOwner();
-		dialog.showAndWait();
+	/**
+	 * Shows the dialog without waiting for it to be closed.
+	 *
+	 * @return a future completed with the user response once the dialog is hidden.
+	 */
+	public DialogFuture<DialogResponse> showAsync() {
+		suspended = false;
+		long traceStart = DialogTracer.start();
+		if (dialog instanceof FXDialog) {
+			centerToOwner((FXDialog) dialog);
+			// A pooled dialog still has the size of its previous content.
+			((FXDialog) dialog).sizeToScene();
+		}
+		dialog.show();
+		DialogTracer.end("show", dialog, traceStart, contentPane);
+		traceShownAt = DialogTracer.start();
+		return responseFuture;
 	}
 
 	public void hide() {
 		dialog.hide();
 	}
 
+	/**
+	 * Hides the dialog without answering it, it can be shown again later with
+	 * its current state.
+	 */
+	void suspend() {
+		suspended = true;
+		dialog.hide();
+	}
+
+	/**
+	 * Closes the dialog, or gives it back to the pool if it isn't showing, and
+	 * cancels its response.
+	 */
+	void cancel() {
+		responseFuture.cancel(true);
+	}
+
+	/**
+	 * Shows in the masthead how many times this dialog has been requested
+	 * while it was open.
+	 */
+	void setOccurrences(int occurrences) {
+		String text = DialogResources.getString(occurrencesStr,
+				mastheadString == null ? "" : MessageView.preview(mastheadString), occurrences);
+		if (mastheadTextArea != null) {
+			mastheadTextArea.setText(text);
+		} else {
+			contentPane.setMastheadText(createMastheadText(text));
+		}
+	}
+
+	/**
+	 * Sets the callback told of the response chosen by the user, e.g. to
+	 * measure how long the user took to answer.
+	 */
+	void setResponseListener(Callback<DialogResponse, Void> responseListener) {
+		this.responseListener = responseListener;
+	}
+
+	DialogOptions getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return whether a handler of the dialog is running, e.g. a button action
+	 *         or the custom callback, possibly waiting for another dialog in a
+	 *         nested event loop. The dialog can't close before it returns.
+	 */
+	boolean isHandlingEvent() {
+		return handlerDepth > 0;
+	}
+
+	/**
+	 * Sets the callback given this template once its dialog is hidden,
+	 * instead of giving the dialog window back to the pool.
+	 */
+	void setRecycler(Callback<DialogTemplate<T>, Void> recycler) {
+		this.recycler = recycler;
+	}
+
+	/**
+	 * Gives the dialog window of a recycled template back to the pool, the
+	 * template must not be used anymore.
+	 */
+	void discard() {
+		recycler = null;
+		release();
+	}
+
+	/**
+	 * Prepares the hidden dialog to be shown again with other texts. The
+	 * nodes are kept: only the labels are updated and the user input cleared.
+	 */
+	void rebind(String title, String masthead, String message) {
+		long traceStart = DialogTracer.start();
+		dialog.setTitle(title);
+		mastheadString = masthead;
+		if (masthead == null) {
+			mastheadTextArea = null;
+			contentPane.setMastheadText(null);
+		} else if (mastheadTextArea == null) {
+			contentPane.setMastheadText(createMastheadText(masthead));
+		} else {
+			mastheadTextArea.setText(MessageView.preview(masthead));
+		}
+		contentString = message;
+		if (messageView != null && message != null) {
+			messageView.setText(message);
+		}
+		if (inputLabel != null) {
+			inputLabel.setText(message);
+		}
+		if (inputField != null) {
+			inputField.setText(initialInputValue == null ? "" : initialInputValue.toString());
+		}
+		userResponse = DialogResponse.CLOSED;
+		responseListener = null;
+		armResponse();
+		DialogTracer.end("rebind", dialog, traceStart, contentPane);
+	}
+
 	/**
 	 * Gets the response from the user.
 	 *
@@ -276,102 +503,51 @@ class DialogTemplate<T> {
 
 	/*
 	 * top part of the dialog contains short informative message, and either
-	 * an icon, or the text is displayed over a watermark image
+	 * an icon, or the text is displayed over a watermark image. Without
+	 * message, only the icon is shown.
 	 */
-	private Pane createMasthead() {
-		mastheadPanel = new BorderPane();
-		mastheadPanel.getStyleClass().add("top-panel");
-		// Create panel with text area and icon or just a background image:
-		// Create topPanel's components.  UITextArea determines
-		// the size of the dialog by defining the number of columns
-		// based on font size.
+	private void createMasthead() {
+		mastheadIcon = dialogType == null ? DialogResources.getIcon("java48.image") : dialogType.getImage();
+		contentPane.setMasthead(mastheadString == null ? null : createMastheadText(mastheadString), mastheadIcon);
+	}
+
+	// UITextArea determines the size of the dialog by defining the number
+	// of columns based on font size.
+	private UITextArea createMastheadText(String text) {
 		mastheadTextArea = new UITextArea(MAIN_TEXT_WIDTH);
 		mastheadTextArea.getStyleClass().add("masthead-label-1");
-		VBox mastheadVBox = new VBox();
-		mastheadVBox.setAlignment(Pos.CENTER_LEFT);
-		mastheadTextArea.setText(mastheadString);
+		mastheadTextArea.setText(MessageView.preview(text));
 		mastheadTextArea.setAlignment(Pos.CENTER_LEFT);
-		mastheadVBox.getChildren().add(mastheadTextArea);
-		mastheadPanel.setLeft(mastheadVBox);
-		BorderPane.setAlignment(mastheadVBox, Pos.CENTER_LEFT);
-		mastheadIcon = dialogType == null ? DialogResources.getIcon("java48.image") : dialogType.getImage();
-		mastheadPanel.setRight(mastheadIcon);
-		return mastheadPanel;
+		return mastheadTextArea;
 	}
 
-	private Pane createCenterPanel() {
-		centerPanel = new VBox();
-		centerPanel.getStyleClass().add("center-panel");
-
-		BorderPane contentPanel = new BorderPane();
-		contentPanel.getStyleClass().add("center-content-panel");
-		VBox.setVgrow(contentPanel, Priority.ALWAYS);
-
-		Node content = createCenterContent();
-		if (content != null) {
-			contentPanel.setCenter(content);
-			contentPanel.setPadding(new Insets(0, 0, 12, 0));
-		}
+	private void createCenterPanel() {
+		contentPane.setContent(createCenterContent());
 
-		FlowPane buttonsPanel = new FlowPane(6, 0) {
-			@Override
-			protected void layoutChildren() {
-				/*
-                 * According to UI guidelines, all buttons should have the same length.
-                 * This function is to define the longest button in the array of buttons
-                 * and set all buttons in array to be the length of the longest button.
-                 */
-				// Find out the longest button...
-				double widest = 50;
-				for (int i = 0; i < buttons.size(); i++) {
-					Button btn = buttons.get(i);
-					if (btn == null) {
-						continue;
-					}
-					widest = Math.max(widest, btn.prefWidth(-1));
-				}
-				// ...and set all buttons to be this width
-				for (int i = 0; i < buttons.size(); i++) {
-					Button btn = buttons.get(i);
-					if (btn == null) {
-						continue;
-					}
-					btn.setPrefWidth(btn.isVisible() ? widest : 0);
-				}
-				super.layoutChildren();
-			}
-		};
+		// According to UI guidelines, all buttons should have the same length.
+		DialogButtonBar buttonsPanel = new DialogButtonBar(6);
 		buttonsPanel.getStyleClass().add("button-bar");
 		// create buttons from okBtnStr and cancelBtnStr strings.
-		buttonsPanel.getChildren().addAll(createButtons());
-
-		if (contentPanel.getChildren().size() > 0) {
-			centerPanel.getChildren().add(contentPanel);
-		}
-
-		BorderPane bottomPanel = new BorderPane();
-		bottomPanel.getStyleClass().add("center-bottom-panel");
-		bottomPanel.setRight(buttonsPanel);
-
-		centerPanel.getChildren().add(bottomPanel);
-		return centerPanel;
+		buttonsPanel.getButtons().addAll(createButtons());
+		contentPane.setButtons(buttonsPanel);
 	}
 
 	private Node createCenterContent() {
 		if (style == DialogStyle.SIMPLE || style == DialogStyle.ERROR) {
 			if (contentString != null) {
-				UITextArea ta = new UITextArea(contentString);
-				ta.getStyleClass().add("center-content-area");
-				ta.setAlignment(Pos.TOP_LEFT);
-				return ta;
+				// Huge messages are cut, the whole text stays available.
+				messageView = new MessageView(contentString);
+				return messageView;
 			}
 		} else if (style == DialogStyle.INPUT || style == DialogStyle.PASSWORD) {
 
-			Control inputControl;
+			Node inputControl;
 			userInputResponse = new SimpleObjectProperty<>();
 
 			if (style == DialogStyle.PASSWORD) {
 				inputControl = createPasswordContent();
+			} else if (choiceProvider != null) {
+				inputControl = createPagedInputContent();
 			} else if (inputChoices == null || inputChoices.isEmpty()) {
 				inputControl = createSimpleInputContent();
 			} else {
@@ -380,8 +556,8 @@ class DialogTemplate<T> {
 
 			HBox hbox = new HBox(10);
 			if (contentString != null && !contentString.isEmpty()) {
-				Label label = new Label(contentString);
-				hbox.getChildren().add(label);
+				inputLabel = new Label(contentString);
+				hbox.getChildren().add(inputLabel);
 			}
 
 			if (inputControl != null) {
@@ -402,12 +578,12 @@ class DialogTemplate<T> {
 	private PasswordField createPasswordContent() {
 
 		PasswordField passwordField = new PasswordField();
+		inputField = passwordField;
 		userInputResponse.bind((ObservableValue<T>) passwordField.textProperty());
 		passwordField.setOnAction(new EventHandler<ActionEvent>() {
 			@Override
 			public void handle(final ActionEvent actionEvent) {
-				userResponse = DialogResponse.OK;
-				hide();
+				respond(DialogResponse.OK);
 			}
 		});
 
@@ -415,11 +591,17 @@ class DialogTemplate<T> {
 	}
 
 	/**
-	 * Create ComboBox or ChoiceBox when multiple input options are provided.
+	 * Create a filterable list, ComboBox or ChoiceBox when multiple input options are provided.
 	 */
-	private Control createMultipleInputContent() {
-		Control inputControl;
-		if (inputChoices.size() > 10) {
+	private Node createMultipleInputContent() {
+		Node inputControl;
+		if (inputChoices.size() > TYPE_AHEAD_THRESHOLD) {
+			// use an indexed list, the ComboBox popup is too slow to open
+			TypeAheadChoiceField<T> choiceField = new TypeAheadChoiceField<>(inputChoices, initialInputValue);
+			userInputResponse.bind(choiceField.valueProperty());
+			HBox.setHgrow(choiceField, Priority.ALWAYS);
+			inputControl = choiceField;
+		} else if (inputChoices.size() > 10) {
 			// use ComboBox
 			ComboBox<T> comboBox = new ComboBox<>();
 			comboBox.getItems().addAll(inputChoices);
@@ -439,17 +621,27 @@ class DialogTemplate<T> {
 		return inputControl;
 	}
 
+	/**
+	 * Create a filterable list loading its choices page by page.
+	 */
+	private Node createPagedInputContent() {
+		PagedChoiceField<T> choiceField = new PagedChoiceField<>(choiceProvider, initialInputValue);
+		userInputResponse.bind(choiceField.valueProperty());
+		HBox.setHgrow(choiceField, Priority.ALWAYS);
+		return choiceField;
+	}
+
 	/**
 	 * Create simple TextField because no input constraints were given.
 	 */
 	private Control createSimpleInputContent() {
 		final TextField textField = new TextField();
+		inputField = textField;
 		userInputResponse.bind((ObservableValue<T>) textField.textProperty());
 		textField.setOnAction(new EventHandler<ActionEvent>() {
 			@Override
 			public void handle(ActionEvent t) {
-				userResponse = DialogResponse.OK;
-				hide();
+				respond(DialogResponse.OK);
 			}
 		});
 		if (initialInputValue != null) {
@@ -470,7 +662,8 @@ class DialogTemplate<T> {
 				detailsBtn.setOnAction(new EventHandler<ActionEvent>() {
 					@Override
 					public void handle(ActionEvent ae) {
-						new ExceptionDialog(dialog, throwable).show();
+						Stage parent = dialog instanceof FXDialog ? (FXDialog) dialog : (Stage) dialog.getOwner();
+						new ExceptionDialog(parent, throwable).show();
 					}
 				});
 				buttons.add(detailsBtn);
@@ -492,22 +685,57 @@ class DialogTemplate<T> {
 		btn.setOnAction(new EventHandler<ActionEvent>() {
 			@Override
 			public void handle(ActionEvent ae) {
-				userResponse = response;
-				// If callback provided for custom dialog - call it.
-				if (callback != null) {
-					callback.call(null);
-				}
-				// hide the dialog.  We'll return from the dialog,
-				// and who ever called it will retrieve user's answer
-				// and will dispose of the dialog after that.
-				hide();
+				respond(response);
 			}
 		});
 		btn.setDefaultButton(isDefault);
 		btn.setCancelButton(isCancel);
+		if (response == DialogResponse.OK) {
+			okButton = btn;
+		}
 		return btn;
 	}
 
+	/**
+	 * Closes the dialog with the given response, once the user input is valid for OK.
+	 */
+	private void respond(final DialogResponse response) {
+		if (response == DialogResponse.OK && validation != null) {
+			validation.submit(new Runnable() {
+				@Override
+				public void run() {
+					close(response);
+				}
+			});
+		} else {
+			close(response);
+		}
+	}
+
+	private void close(DialogResponse response) {
+		userResponse = response;
+		if (DialogTracer.ENABLED) {
+			DialogTracer.end("response " + response, dialog, traceShownAt, null);
+		}
+		if (responseListener != null) {
+			responseListener.call(response);
+		}
+		// If callback provided for custom dialog - call it.
+		// Also reached from key accelerators, outside of the content dispatcher.
+		if (callback != null) {
+			handlerDepth++;
+			try {
+				callback.call(null);
+			} finally {
+				handlerDepth--;
+			}
+		}
+		// hide the dialog.  We'll return from the dialog,
+		// and who ever called it will retrieve user's answer
+		// and will dispose of the dialog after that.
+		hide();
+	}
+
 	/*
 	 * bottom panel contains icon indicating the security alert level,
 	 * two bullets with most significant security warnings,
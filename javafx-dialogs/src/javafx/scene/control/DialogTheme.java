@@ -0,0 +1,71 @@
+package javafx.scene.control;
+
+import java.net.URL;
+
+/**
+ * A look of the dialogs, given by a stylesheet added after the base dialogs
+ * stylesheet.
+ * <p>
+ * A theme stylesheet only needs to redefine, on the {@code .dialog} class,
+ * the looked-up colors of the base stylesheet ({@code -dialog-border},
+ * {@code -dialog-text}, {@code -dialog-content-background}...) and, if
+ * needed, the ones of the controls such as {@code -fx-base}. Switching theme
+ * then swaps one small stylesheet: open dialogs are restyled, not rebuilt.
+ * <p>
+ * The stylesheet URL of a theme is resolved once. All the dialogs using a
+ * theme refer to it by the same URL, so it is parsed once and shared by them.
+ *
+ * @see Dialogs#setTheme(DialogTheme)
+ * @see Dialogs#setTheme(javafx.stage.Window, DialogTheme)
+ */
+public final class DialogTheme
+{
+    /**
+     * The default theme, the base stylesheet alone.
+     */
+    public static final DialogTheme LIGHT = new DialogTheme( "light", null );
+
+    public static final DialogTheme DARK = new DialogTheme( "dark", FXDialog.findStylesheet( "dialogs-dark" ) );
+
+    public static final DialogTheme HIGH_CONTRAST = new DialogTheme( "high-contrast",
+            FXDialog.findStylesheet( "dialogs-high-contrast" ) );
+
+    private final String name;
+    private final String stylesheet;
+
+    private DialogTheme(String name, String stylesheet) {
+        this.name = name;
+        this.stylesheet = stylesheet;
+    }
+
+    /**
+     * Creates a theme from a stylesheet redefining the looked-up colors of
+     * the dialogs. Create it once and reuse it, dialogs using the same theme
+     * share its parsed stylesheet.
+     *
+     * @param name the name of the theme, for display.
+     * @param stylesheet the URL of the stylesheet, in text or binary form.
+     */
+    public static DialogTheme create(String name, URL stylesheet) {
+        if ( name == null || stylesheet == null ) {
+            throw new IllegalArgumentException( "A theme needs a name and a stylesheet" );
+        }
+        return new DialogTheme( name, stylesheet.toExternalForm() );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the URL of the theme stylesheet, null for the default theme.
+     */
+    public String getStylesheet() {
+        return stylesheet;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
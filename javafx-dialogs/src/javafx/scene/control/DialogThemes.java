@@ -0,0 +1,80 @@
+package javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Keeps the current {@link DialogTheme}, the themes set for some owner
+ * windows, and applies them to the dialog windows.
+ * <p>
+ * Dialog windows, pooled ones included, and overlays are weakly referenced so
+ * that they can be restyled when a theme changes. A dialog uses the theme of its owner,
+ * or of the nearest owner of its owner with one, else the current theme.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread.
+ */
+class DialogThemes
+{
+    private static DialogTheme theme = DialogTheme.LIGHT;
+
+    private static final Map<Window, DialogTheme> ownerThemes = new WeakHashMap<>();
+
+    private static final Map<DialogHost, Boolean> dialogs = new WeakHashMap<>();
+
+    private DialogThemes() {
+        // no-op as we don't want people creating instances of this class
+    }
+
+    static DialogTheme getTheme() {
+        return theme;
+    }
+
+    static void setTheme(DialogTheme theme) {
+        DialogThemes.theme = theme == null ? DialogTheme.LIGHT : theme;
+        restyle();
+    }
+
+    static DialogTheme getTheme(Window owner) {
+        return ownerThemes.get( owner );
+    }
+
+    static void setTheme(Window owner, DialogTheme theme) {
+        if ( theme == null ) {
+            ownerThemes.remove( owner );
+        } else {
+            ownerThemes.put( owner, theme );
+        }
+        restyle();
+    }
+
+    /**
+     * Applies its theme to a dialog, and to it again whenever the theme
+     * changes.
+     */
+    static void apply(DialogHost dialog) {
+        dialogs.put( dialog, Boolean.TRUE );
+        dialog.setTheme( themeOf( dialog.getOwner() ) );
+    }
+
+    private static DialogTheme themeOf(Window owner) {
+        while ( owner != null ) {
+            DialogTheme ownerTheme = ownerThemes.get( owner );
+            if ( ownerTheme != null ) {
+                return ownerTheme;
+            }
+            owner = owner instanceof Stage ? ( (Stage) owner ).getOwner() : null;
+        }
+        return theme;
+    }
+
+    private static void restyle() {
+        for ( DialogHost dialog : new ArrayList<>( dialogs.keySet() ) ) {
+            dialog.setTheme( themeOf( dialog.getOwner() ) );
+        }
+    }
+}
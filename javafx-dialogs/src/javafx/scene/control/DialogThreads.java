@@ -0,0 +1,258 @@
+package javafx.scene.control;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.application.Platform;
+import javafx.util.Callback;
+
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * Helpers to enter the dialogs API from any thread.
+ * <p>
+ * Dialogs can only be built and shown on the JavaFX Application Thread. Calls
+ * coming from other threads are handed over to it with
+ * {@link Platform#runLater(Runnable)} and only the calling thread waits for
+ * the result. Waiting is done through {@link java.util.concurrent.locks.LockSupport}
+ * based latches, never while holding a monitor, so that many callers (e.g.
+ * lightweight threads) can be parked at the same time.
+ * <p>
+ * Work too heavy for the JavaFX Application Thread, such as formatting a
+ * large stack trace, is run by a small pool of daemon threads.
+ */
+class DialogThreads
+{
+    private static final int BACKGROUND_THREADS = 2;
+
+    private static final ExecutorService backgroundExecutor = createBackgroundExecutor();
+
+    // Callers blocked in await(), including nested event loops.
+    private static final AtomicInteger blockedCallers = new AtomicInteger();
+
+    private DialogThreads() {
+        // no-op as we don't want people creating instances of this class
+    }
+
+    /**
+     * Runs the given task on the JavaFX Application Thread and waits for its
+     * result. The task is run directly if already on that thread.
+     */
+    static <V> V callAndWait(Callable<V> task) {
+        FutureTask<V> future = new FutureTask<>( task );
+        if ( Platform.isFxApplicationThread() ) {
+            future.run();
+        } else {
+            Platform.runLater( future );
+        }
+        try {
+            return future.get();
+        } catch ( InterruptedException ex ) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException( "Interrupted while waiting for the JavaFX Application Thread" );
+        } catch ( ExecutionException ex ) {
+            throw rethrow( ex.getCause() );
+        }
+    }
+
+    /**
+     * Runs the given task, which shows a dialog, on the JavaFX Application
+     * Thread. Returns its future right away if already on that thread, a
+     * future following it otherwise. A failure of the task fails the returned
+     * future.
+     */
+    static <V> DialogFuture<V> callLater(final Callable<DialogFuture<V>> task) {
+        if ( Platform.isFxApplicationThread() ) {
+            try {
+                return task.call();
+            } catch ( Exception ex ) {
+                DialogFuture<V> failed = new DialogFuture<>();
+                failed.fail( ex );
+                return failed;
+            }
+        }
+
+        final DialogFuture<V> proxy = new DialogFuture<>();
+        Platform.runLater( new Runnable()
+        {
+            @Override
+            public void run() {
+                if ( proxy.isCancelled() ) {
+                    return;
+                }
+                final DialogFuture<V> target;
+                try {
+                    target = task.call();
+                } catch ( Exception ex ) {
+                    proxy.fail( ex );
+                    return;
+                }
+                follow( proxy, target );
+            }
+        } );
+        return proxy;
+    }
+
+    /**
+     * Runs the given task on a background thread. The returned future is
+     * completed on the JavaFX Application Thread, cancelling it interrupts the
+     * task.
+     */
+    static <V> DialogFuture<V> background(final Callable<V> task) {
+        final DialogFuture<V> future = new DialogFuture<>();
+        final Future<?> running = backgroundExecutor.submit( new Runnable()
+        {
+            @Override
+            public void run() {
+                if ( future.isDone() ) {
+                    return;
+                }
+                try {
+                    final V value = task.call();
+                    Platform.runLater( new Runnable()
+                    {
+                        @Override
+                        public void run() {
+                            future.complete( value );
+                        }
+                    } );
+                } catch ( final Exception ex ) {
+                    Platform.runLater( new Runnable()
+                    {
+                        @Override
+                        public void run() {
+                            future.fail( ex );
+                        }
+                    } );
+                }
+            }
+        } );
+        future.setCanceller( new Runnable()
+        {
+            @Override
+            public void run() {
+                running.cancel( true );
+            }
+        } );
+        return future;
+    }
+
+    /**
+     * Blocks the calling thread until the dialog behind the given future is
+     * closed. On the JavaFX Application Thread a nested event loop is run
+     * meanwhile, as {@code Stage.showAndWait()} does. If the calling thread is
+     * interrupted the dialog is closed and a {@link CancellationException} is
+     * thrown.
+     */
+    static <V> V await(DialogFuture<V> future) {
+        blockedCallers.incrementAndGet();
+        try {
+            if ( Platform.isFxApplicationThread() ) {
+                runNestedEventLoop( future );
+            }
+            return future.get();
+        } catch ( InterruptedException ex ) {
+            future.cancel( true );
+            Thread.currentThread().interrupt();
+            throw new CancellationException( "Interrupted while waiting for the dialog" );
+        } catch ( ExecutionException ex ) {
+            throw rethrow( ex.getCause() );
+        } finally {
+            blockedCallers.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of callers currently blocked until a dialog is
+     *         closed.
+     */
+    static int getBlockedCallerCount() {
+        return blockedCallers.get();
+    }
+
+    private static <V> void runNestedEventLoop(DialogFuture<V> future) {
+        final boolean[] entered = new boolean[1];
+        future.addListener( new Callback<DialogFuture<V>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<V> done) {
+                if ( entered[0] ) {
+                    Toolkit.getToolkit().exitNestedEventLoop( done, null );
+                }
+                return null;
+            }
+        } );
+        if ( !future.isDone() ) {
+            entered[0] = true;
+            Toolkit.getToolkit().enterNestedEventLoop( future );
+        }
+    }
+
+    /**
+     * Makes the proxy future complete like the target one, and cancelling the
+     * proxy cancel the target.
+     */
+    private static <V> void follow(final DialogFuture<V> proxy, final DialogFuture<V> target) {
+        proxy.setCanceller( new Runnable()
+        {
+            @Override
+            public void run() {
+                target.cancel( true );
+            }
+        } );
+        target.addListener( new Callback<DialogFuture<V>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<V> done) {
+                if ( done.isCancelled() ) {
+                    proxy.cancel( true );
+                } else if ( done.getFailure() != null ) {
+                    proxy.fail( done.getFailure() );
+                } else {
+                    proxy.complete( done.getNow( null ) );
+                }
+                return null;
+            }
+        } );
+        // The proxy may have been cancelled while the target was being built.
+        if ( proxy.isCancelled() ) {
+            target.cancel( true );
+        }
+    }
+
+    private static ExecutorService createBackgroundExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor( BACKGROUND_THREADS, BACKGROUND_THREADS, 30,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+                {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread( runnable, "Dialogs-Background-" + count.incrementAndGet() );
+                        thread.setDaemon( true );
+                        return thread;
+                    }
+                } );
+        executor.allowCoreThreadTimeOut( true );
+        return executor;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if ( cause instanceof RuntimeException ) {
+            throw (RuntimeException) cause;
+        }
+        if ( cause instanceof Error ) {
+            throw (Error) cause;
+        }
+        throw new IllegalStateException( cause );
+    }
+}
@@ -0,0 +1,84 @@
+package javafx.scene.control;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * Traces the lifecycle of the dialogs (construction, content, show, response,
+ * drag, resize and maximize) to the {@code javafx.scene.control.DialogTracer}
+ * logger, so that it can be lined up with GC logs, pulse logs and the
+ * application's own logs.
+ * <p>
+ * Tracing is disabled by default, each hook then costs a test of a constant.
+ * It is configured with system properties, read once:
+ * <ul>
+ * <li>{@code javafx.dialogs.trace}: {@code true} to enable tracing;</li>
+ * <li>{@code javafx.dialogs.trace.thresholdMillis}: events shorter than this
+ * are not logged, 0 by default;</li>
+ * <li>{@code javafx.dialogs.trace.stackTraces}: {@code true} to log the stack
+ * of the code that triggered each logged event.</li>
+ * </ul>
+ * Each record gives the event, the dialog title, the duration and the number
+ * of nodes of the dialog content when relevant.
+ */
+final class DialogTracer
+{
+    static final boolean ENABLED = Boolean.getBoolean( "javafx.dialogs.trace" );
+
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos( Long.getLong(
+            "javafx.dialogs.trace.thresholdMillis", 0 ) );
+
+    private static final boolean STACK_TRACES = Boolean.getBoolean( "javafx.dialogs.trace.stackTraces" );
+
+    private static final Logger LOGGER = Logger.getLogger( DialogTracer.class.getName() );
+
+    private DialogTracer() {
+        // no-op as we don't want people creating instances of this class
+    }
+
+    /**
+     * @return the start time of an event, to be given to
+     *         {@link #end(String, DialogHost, long, Parent)}.
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Logs an event started at the given time, if it lasted longer than the
+     * threshold.
+     *
+     * @param root the content whose nodes are counted, null if not relevant.
+     */
+    static void end(String event, DialogHost dialog, long start, Parent root) {
+        if ( !ENABLED ) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if ( elapsedNanos < THRESHOLD_NANOS ) {
+            return;
+        }
+
+        LogRecord record = new LogRecord( Level.INFO, "{0} \"{1}\": {2} ms, {3} nodes" );
+        record.setLoggerName( LOGGER.getName() );
+        record.setParameters( new Object[] { event, dialog == null ? null : dialog.getTitle(),
+                String.format( "%.3f", elapsedNanos / 1e6 ), root == null ? "-" : String.valueOf( countNodes( root ) ) } );
+        if ( STACK_TRACES ) {
+            record.setThrown( new Throwable( "Traced from" ) );
+        }
+        LOGGER.log( record );
+    }
+
+    private static int countNodes(Parent parent) {
+        int count = 1;
+        for ( Node child : parent.getChildrenUnmodifiable() ) {
+            count += child instanceof Parent ? countNodes( (Parent) child ) : 1;
+        }
+        return count;
+    }
+}
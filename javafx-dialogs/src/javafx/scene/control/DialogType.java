@@ -28,36 +28,38 @@ import javafx.scene.image.ImageView;
 
 public enum DialogType
 {
-    INFORMATION( DialogOptions.OK, "info48.image" ) {
+    INFORMATION( DialogOptions.OK, "info48.image", DialogPriority.LOW ) {
         @Override public String getDefaultMasthead() { return "Message"; }
     },
 
-    CONFIRMATION( DialogOptions.YES_NO_CANCEL, "confirm48.image" ) {
+    CONFIRMATION( DialogOptions.YES_NO_CANCEL, "confirm48.image", DialogPriority.NORMAL ) {
         @Override public String getDefaultMasthead() { return "Select an Option"; }
     },
 
-    WARNING( DialogOptions.OK, "warning48.image" ) {
+    WARNING( DialogOptions.OK, "warning48.image", DialogPriority.HIGH ) {
         @Override public String getDefaultMasthead() { return "Warning"; }
     },
 
-    ERROR( DialogOptions.OK, "error48.image" ) {
+    ERROR( DialogOptions.OK, "error48.image", DialogPriority.HIGH ) {
         @Override public String getDefaultMasthead() { return "Error"; }
     },
 
-    INPUT( DialogOptions.OK_CANCEL, "confirm48.image" ) {
+    INPUT( DialogOptions.OK_CANCEL, "confirm48.image", DialogPriority.NORMAL ) {
         @Override public String getDefaultMasthead() { return "Select an Option"; }
     },
 
-    CUSTOM( DialogOptions.OK, "info48.image" ) {
+    CUSTOM( DialogOptions.OK, "info48.image", DialogPriority.NORMAL ) {
         @Override public String getDefaultMasthead() { return "Message"; }
     };
 
     private final DialogOptions defaultOptions;
     private final String imageResource;
+    private final DialogPriority defaultPriority;
 
-    DialogType(DialogOptions defaultOptions, String imageResource) {
+    DialogType(DialogOptions defaultOptions, String imageResource, DialogPriority defaultPriority) {
         this.defaultOptions = defaultOptions;
         this.imageResource = imageResource;
+        this.defaultPriority = defaultPriority;
     }
 
     public ImageView getImage() {
@@ -74,4 +76,8 @@ public enum DialogType
         return defaultOptions;
     }
 
+    public DialogPriority getDefaultPriority() {
+        return defaultPriority;
+    }
+
 }
@@ -27,17 +27,26 @@ package javafx.scene.control;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Parent;
 import javafx.scene.layout.Pane;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import javafx.util.Callback;
 
-import static javafx.scene.control.DialogResponse.CLOSED;
 import static javafx.scene.control.DialogResponse.OK;
 
 /**
  * A class containing a number of pre-built JavaFX modal dialogs.
  * <p>
+ * The dialogs can be shown from any thread. On the JavaFX Application Thread
+ * the blocking methods run a nested event loop until the dialog is closed;
+ * on any other thread the dialog is shown on the JavaFX Application Thread
+ * and only the calling thread waits. Failures to build or show a dialog are
+ * thrown to the caller instead of being reported as {@link DialogResponse#CLOSED}.
+ * <p>
  * Note: This is a copy of the official OpenJFX UI Sandbox Control revision
  * rt-9e5ef340d95f. Changes are marked and described in the readme file.
  *
@@ -309,10 +318,7 @@ public class Dialogs
     public static DialogResponse showErrorDialog(final Stage owner, final String message,
             final String masthead, final String title, final Throwable throwable) {
 
-        DialogTemplate template = new DialogTemplate( owner, title, masthead, null );
-        template.setErrorContent( message, throwable );
-
-        return showDialog( template );
+        return DialogThreads.await( showErrorDialogAsync( owner, message, masthead, title, throwable ) );
     }
 
     //-----------------------------------------------------------------------------------
@@ -352,17 +358,73 @@ public class Dialogs
     public static <T> T showInputDialog(final Stage owner, final String message, final String masthead,
             final String title, final T initialValue, final List<T> choices) {
 
-        DialogTemplate<T> template = new DialogTemplate<T>( owner, title, masthead, null );
-        template.setInputContent( message, initialValue, choices );
+        return showUserInputDialog( owner, inputTemplate( owner, title, masthead, message, initialValue, choices ) );
+    }
+
+    /**
+     * Brings up an input dialog whose choices are loaded page by page while
+     * the user scrolls or types a filter. The dialog is shown right away.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the choice list.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param initialValue the initially selected value, may be null.
+     * @param choices loads the choices, called on a background thread.
+     * @return the value chosen by the user, or null if the dialog was
+     *         cancelled.
+     */
+    public static <T> T showInputDialog(final Stage owner, final String message, final String masthead,
+            final String title, final T initialValue, final ChoicePageProvider<T> choices) {
+
+        return showUserInputDialog( owner, pagedInputTemplate( owner, title, masthead, message, initialValue,
+                choices ) );
+    }
+
+    /**
+     * Brings up a text input dialog that can only be closed with <i>OK</i>
+     * once the entered text passes the given validator. Validation errors are
+     * shown in the dialog.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the input field.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param initialValue the initially entered text, may be null.
+     * @param validator checks the entered text, called on a background thread.
+     * @return the text entered by the user, or null if the dialog was
+     *         cancelled.
+     */
+    public static String showInputDialog(final Stage owner, final String message, final String masthead,
+            final String title, final String initialValue, final InputValidator<? super String> validator) {
 
-        return showUserInputDialog( template );
+        return showUserInputDialog( owner, validated( inputTemplate( owner, title, masthead, message, initialValue,
+                Collections.<String>emptyList() ), validator ) );
     }
 
     public static String showPasswordDialog(final Stage owner, final String message, final String masthead, final String title) {
-        DialogTemplate<String> template = new DialogTemplate<>(owner, title, masthead, DialogOptions.OK);
-        template.setPasswordContent(message);
 
-        return showUserInputDialog(template);
+        return showUserInputDialog( owner, passwordTemplate( owner, title, masthead, message ) );
+    }
+
+    /**
+     * Brings up a password dialog that can only be closed with <i>OK</i> once
+     * the entered password passes the given validator, e.g. a check against
+     * an authentication service. Validation errors are shown in the dialog.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the password field.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param validator checks the password, called on a background thread.
+     * @return the password entered by the user, or null if the dialog was
+     *         cancelled.
+     */
+    public static String showPasswordDialog(final Stage owner, final String message, final String masthead,
+            final String title, final InputValidator<? super String> validator) {
+
+        return showUserInputDialog( owner, validated( passwordTemplate( owner, title, masthead, message ),
+                validator ) );
     }
 
     //-----------------------------------------------------------------------------------
@@ -375,65 +437,790 @@ public class Dialogs
     public static <T> DialogResponse showCustomDialog(final Stage owner, final Pane customContentPanel,
             final String masthead, final String title, DialogOptions options, Callback<Void, Void> callback) {
 
-        DialogTemplate<T> template = new DialogTemplate<T>( owner, customContentPanel, title, masthead, options );
-        template.setCustomContent( customContentPanel );
-        template.setCustomCallback( callback );
+        return showTemplate( owner, DialogType.CUSTOM,
+                customTemplate( owner, customContentPanel, title, masthead, options, callback ) );
+    }
+
+    /**
+     * Brings up a dialog with custom content that can only be closed with
+     * <i>OK</i> once the given value passes the validator. Validation errors
+     * are shown in the dialog.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param customContentPanel the pane inserted in the content panel.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param options a {@link DialogOptions} instance to customize the buttons of the dialog.
+     * @param value the value entered in the custom content, e.g. a binding on its fields.
+     * @param validator checks the value, called on a background thread.
+     * @return the response provided by the user.
+     */
+    public static <V> DialogResponse showCustomDialog(final Stage owner, final Pane customContentPanel,
+            final String masthead, final String title, DialogOptions options, ObservableValue<V> value,
+            InputValidator<? super V> validator) {
+
+        return showTemplate( owner, DialogType.CUSTOM, validated(
+                customTemplate( owner, customContentPanel, title, masthead, options, null ), value, validator ) );
+    }
+
+    //-----------------------------------------------------------------------------------
+    //
+    // Non-blocking Dialogs
+    //
+    // These methods show the dialog and return right away, without running a nested
+    // event loop. They can be called from any thread. The returned future is completed
+    // on the JavaFX Application Thread when the dialog is closed.
+    //-----------------------------------------------------------------------------------
+
+    /**
+     * Shows a dialog with the options <i>Yes</i>, <i>No</i> and <i>Cancel</i>
+     * without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the main message displayed by the dialog.
+     * @return a future completed with the response provided by the user.
+     */
+    public static DialogFuture<DialogResponse> showConfirmDialogAsync(final Stage owner, final String message) {
+
+        return showConfirmDialogAsync( owner, message, DialogType.CONFIRMATION.getDefaultMasthead(),
+                DialogType.CONFIRMATION.getDefaultTitle(), DialogType.CONFIRMATION.getDefaultOptions() );
+    }
+
+    /**
+     * Shows a confirmation dialog with customizable options without waiting
+     * for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the main message displayed by the dialog.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param options a {@link DialogOptions} instance to customize the buttons of the dialog.
+     * @return a future completed with the response provided by the user.
+     */
+    public static DialogFuture<DialogResponse> showConfirmDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title, final DialogOptions options) {
+
+        return showSimpleContentDialogAsync( owner, title, masthead, message, DialogType.CONFIRMATION, options );
+    }
+
+    /**
+     * Shows an information dialog without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the main message displayed by the dialog.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @return a future completed when the dialog is closed.
+     */
+    public static DialogFuture<DialogResponse> showInformationDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title) {
+
+        return showSimpleContentDialogAsync( owner, title, masthead, message, DialogType.INFORMATION,
+                DialogType.INFORMATION.getDefaultOptions() );
+    }
+
+    /**
+     * Shows a warning dialog without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message question to display in the middle part.
+     * @param masthead masthead in the top part of the dialog.
+     * @param title dialog title.
+     * @param options a {@link DialogOptions} instance to customize the buttons of the dialog.
+     * @return a future completed with the response provided by the user.
+     */
+    public static DialogFuture<DialogResponse> showWarningDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title, final DialogOptions options) {
+
+        return showSimpleContentDialogAsync( owner, title, masthead, message, DialogType.WARNING, options );
+    }
+
+    /**
+     * Shows an error dialog without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message question to display in the middle part.
+     * @param masthead masthead in the top part of the dialog.
+     * @param title dialog title.
+     * @param throwable a Throwable associated with the dialog, may be null.
+     * @return a future completed with the response provided by the user.
+     */
+    public static DialogFuture<DialogResponse> showErrorDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title, final Throwable throwable) {
+
+        return showDialogAsync( owner, new DialogRequest( DialogType.ERROR, message ).withMasthead( masthead )
+                .withTitle( title ).withThrowable( throwable ) );
+    }
+
+    /**
+     * Shows a text input dialog without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the input field.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @return a future completed with the text entered by the user, or null if
+     *         the dialog was cancelled.
+     */
+    public static DialogFuture<String> showInputDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title) {
+
+        return showInputDialogAsync( owner, message, masthead, title, null, Collections.<String>emptyList() );
+    }
+
+    /**
+     * Shows an input dialog without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the input control.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param initialValue the initially entered or selected value.
+     * @param choices the values to choose from, a text field is shown if empty.
+     * @return a future completed with the value chosen by the user, or null if
+     *         the dialog was cancelled.
+     */
+    public static <T> DialogFuture<T> showInputDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title, final T initialValue, final List<T> choices) {
+
+        return showUserInputDialogAsync( owner, inputTemplate( owner, title, masthead, message, initialValue, choices ) );
+    }
+
+    /**
+     * Shows an input dialog whose choices are loaded page by page, without
+     * waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the choice list.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param initialValue the initially selected value, may be null.
+     * @param choices loads the choices, called on a background thread.
+     * @return a future completed with the value chosen by the user, or null if
+     *         the dialog was cancelled.
+     */
+    public static <T> DialogFuture<T> showInputDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title, final T initialValue, final ChoicePageProvider<T> choices) {
+
+        return showUserInputDialogAsync( owner, pagedInputTemplate( owner, title, masthead, message, initialValue,
+                choices ) );
+    }
+
+    /**
+     * Shows a dialog with custom content without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param customContentPanel the pane inserted in the content panel.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param options a {@link DialogOptions} instance to customize the buttons of the dialog.
+     * @param callback called when any of the buttons is pressed, may be null.
+     * @return a future completed with the response provided by the user.
+     */
+    public static DialogFuture<DialogResponse> showCustomDialogAsync(final Stage owner, final Pane customContentPanel,
+            final String masthead, final String title, DialogOptions options, Callback<Void, Void> callback) {
+
+        return showTemplateAsync( owner, DialogType.CUSTOM,
+                customTemplate( owner, customContentPanel, title, masthead, options, callback ) );
+    }
+
+    /**
+     * Shows a text input dialog that can only be closed with <i>OK</i> once the
+     * entered text passes the given validator, without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the input field.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param initialValue the initially entered text, may be null.
+     * @param validator checks the entered text, called on a background thread.
+     * @return a future completed with the text entered by the user, or null if
+     *         the dialog was cancelled.
+     */
+    public static DialogFuture<String> showInputDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title, final String initialValue,
+            final InputValidator<? super String> validator) {
+
+        return showUserInputDialogAsync( owner, validated( inputTemplate( owner, title, masthead, message,
+                initialValue, Collections.<String>emptyList() ), validator ) );
+    }
+
+    /**
+     * Shows a password dialog that can only be closed with <i>OK</i> once the
+     * entered password passes the given validator, without waiting for the
+     * user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param message the label of the password field.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param validator checks the password, called on a background thread.
+     * @return a future completed with the password entered by the user, or
+     *         null if the dialog was cancelled.
+     */
+    public static DialogFuture<String> showPasswordDialogAsync(final Stage owner, final String message,
+            final String masthead, final String title, final InputValidator<? super String> validator) {
+
+        return showUserInputDialogAsync( owner, validated( passwordTemplate( owner, title, masthead, message ),
+                validator ) );
+    }
+
+    /**
+     * Shows a dialog with custom content that can only be closed with
+     * <i>OK</i> once the given value passes the validator, without waiting
+     * for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param customContentPanel the pane inserted in the content panel.
+     * @param masthead the masthead below the title bar.
+     * @param title dialog title.
+     * @param options a {@link DialogOptions} instance to customize the buttons of the dialog.
+     * @param value the value entered in the custom content, e.g. a binding on its fields.
+     * @param validator checks the value, called on a background thread.
+     * @return a future completed with the response provided by the user.
+     */
+    public static <V> DialogFuture<DialogResponse> showCustomDialogAsync(final Stage owner,
+            final Pane customContentPanel, final String masthead, final String title, DialogOptions options,
+            ObservableValue<V> value, InputValidator<? super V> validator) {
+
+        return showTemplateAsync( owner, DialogType.CUSTOM, validated(
+                customTemplate( owner, customContentPanel, title, masthead, options, null ), value, validator ) );
+    }
+
+    //-----------------------------------------------------------------------------------
+    //
+    // Dialog Requests
+    //
+    // Dialogs are shown one at a time per owner, by decreasing priority. These methods
+    // allow to override the priority the dialog type would otherwise get.
+    //-----------------------------------------------------------------------------------
+
+    /**
+     * Shows the described dialog and waits for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param request the dialog to show.
+     * @return the response provided by the user.
+     */
+    public static DialogResponse showDialog(final Stage owner, final DialogRequest request) {
+
+        return DialogThreads.await( showDialogAsync( owner, request ) );
+    }
+
+    /**
+     * Shows the described dialog without waiting for the user.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param request the dialog to show.
+     * @return a future completed with the response provided by the user.
+     */
+    public static DialogFuture<DialogResponse> showDialogAsync(final Stage owner, final DialogRequest request) {
+
+        DialogType type = request.getType();
+        Callable<DialogTemplate<Object>> factory = request.getThrowable() != null
+                ? errorTemplate( owner, request.getTitle(), request.getMasthead(), request.getMessage(),
+                        request.getThrowable(), request.getPresentation() )
+                : simpleContentTemplate( owner, request.getTitle(), request.getMasthead(), request.getMessage(),
+                        type, request.getOptions(), request.getPresentation() );
+        return showCoalescedDialogAsync( owner, request, factory );
+    }
+
+    /**
+     * Shows the dialog described by the spec and waits for the user. The
+     * dialog built the first time is reused the next times, with only its
+     * texts updated.
+     *
+     * @param owner Component to parent the dialog to.
+     * @param spec the dialog to show.
+     * @param arguments the arguments formatted into the title, masthead and
+     *            message patterns of the spec.
+     * @return the response provided by the user.
+     */
+    public static DialogResponse showDialog(final Stage owner, final DialogSpec spec, final Object... arguments) {
+
+        return showTemplate( owner, spec.getType(), specTemplate( owner, spec, arguments ) );
+    }
+
+    /**
+     * Shows the dialog described by the spec without waiting for the user.
+     *
+     * @see #showDialog(Stage, DialogSpec, Object...)
+     */
+    public static DialogFuture<DialogResponse> showDialogAsync(final Stage owner, final DialogSpec spec,
+            final Object... arguments) {
+
+        return showTemplateAsync( owner, spec.getType(), specTemplate( owner, spec, arguments ) );
+    }
+
+    /**
+     * Shows the dialog described by the spec, which asks for a text or a
+     * password, and waits for the user.
+     *
+     * @see #showDialog(Stage, DialogSpec, Object...)
+     * @return the text entered by the user, null if the dialog was cancelled.
+     */
+    public static String showInputDialog(final Stage owner, final DialogSpec spec, final Object... arguments) {
+
+        return showUserInputDialog( owner, specTemplate( owner, spec, arguments ) );
+    }
+
+    /**
+     * Shows the dialog described by the spec, which asks for a text or a
+     * password, without waiting for the user.
+     *
+     * @see #showDialog(Stage, DialogSpec, Object...)
+     */
+    public static DialogFuture<String> showInputDialogAsync(final Stage owner, final DialogSpec spec,
+            final Object... arguments) {
+
+        return showUserInputDialogAsync( owner, specTemplate( owner, spec, arguments ) );
+    }
+
+    //-----------------------------------------------------------------------------------
+    //
+    // Configuration
+    //
+    //-----------------------------------------------------------------------------------
+
+    /**
+     * Configures the pool of dialog windows. Instead of creating a new window
+     * for every dialog, hidden dialog windows are kept per owner and modality
+     * and reused for the next dialog. Must be called on the JavaFX Application
+     * Thread.
+     *
+     * @param maxIdlePerOwner the maximum number of idle windows kept for one
+     *            owner and modality, 0 disables pooling.
+     * @param maxIdle the maximum number of idle windows kept overall, 0
+     *            disables pooling.
+     * @param idleTimeoutMillis time after which an unused idle window is
+     *            released.
+     */
+    public static void setDialogPoolLimits(int maxIdlePerOwner, int maxIdle, long idleTimeoutMillis) {
+        DialogPool.setLimits( maxIdlePerOwner, maxIdle, idleTimeoutMillis );
+    }
+
+    /**
+     * Sets the time window in which identical dialogs are merged. Information
+     * and error dialogs for the same owner, with the same texts, options,
+     * priority, presentation and exception are shown once, with an occurrence
+     * counter in the masthead, and all callers get the same response. Warning
+     * and confirmation dialogs ask for a decision, they are only merged when
+     * requested with {@link DialogRequest#withCoalescing(boolean)}. Repeats
+     * are merged while the dialog is waiting or open, as long as they arrive
+     * within the window of each other; once it is answered, the next repeat
+     * shows a new dialog.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param windowMillis the coalescing window, 0 disables coalescing.
+     */
+    public static void setCoalescingWindow(long windowMillis) {
+        DialogCoalescer.setWindow( windowMillis );
+    }
+
+    /**
+     * @return the counters of the dialog queue: waiting dialogs, wait times
+     *         and dialogs hidden to make room for a critical one.
+     */
+    public static DialogQueueStatistics getDialogQueueStatistics() {
+        return DialogScheduler.getStatistics();
+    }
+
+    /**
+     * Sets how dialogs are shown when their request doesn't say, in a window
+     * of their own by default. {@link DialogPresentation#OVERLAY} shows them
+     * in a layer of the scene of their owner, without creating a window.
+     * {@link DialogPresentation#UNDECORATED_WINDOW} and
+     * {@link DialogPresentation#DECORATED_WINDOW} show them in opaque windows,
+     * which are cheaper to repaint without a GPU. Must be called on the JavaFX
+     * Application Thread.
+     *
+     * @param presentation the presentation, null for
+     *            {@link DialogPresentation#WINDOW}.
+     */
+    public static void setDefaultPresentation(DialogPresentation presentation) {
+        DialogOverlay.setDefaultPresentation( presentation );
+    }
+
+    public static DialogPresentation getDefaultPresentation() {
+        return DialogOverlay.getDefaultPresentation();
+    }
 
-        return showCustomDialog( template );
+    /**
+     * Sets the budget of the messages shown whole. A longer message is cut,
+     * with links to show it whole in a scrolling view and to copy it. Must be
+     * called on the JavaFX Application Thread.
+     *
+     * @param maxChars the maximum number of characters shown, 2000 by default.
+     * @param maxLines the maximum number of lines shown, 25 by default.
+     */
+    public static void setMessageLimits(int maxChars, int maxLines) {
+        MessageView.setLimits( maxChars, maxLines );
+    }
+
+    /**
+     * Sets the theme of the dialogs. Open dialogs are restyled right away.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param theme the theme, null for {@link DialogTheme#LIGHT}.
+     */
+    public static void setTheme(DialogTheme theme) {
+        DialogThemes.setTheme( theme );
+    }
+
+    /**
+     * @return the theme of the dialogs without a theme of their own.
+     */
+    public static DialogTheme getTheme() {
+        return DialogThemes.getTheme();
+    }
+
+    /**
+     * Sets the theme of the dialogs of the given owner window, and of the
+     * windows it owns, in place of the theme set with
+     * {@link #setTheme(DialogTheme)}. Open dialogs are restyled right away.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param theme the theme, null to use the theme of all dialogs again.
+     */
+    public static void setTheme(Window owner, DialogTheme theme) {
+        DialogThemes.setTheme( owner, theme );
+    }
+
+    /**
+     * @return the theme set for the given owner window, null if none.
+     */
+    public static DialogTheme getTheme(Window owner) {
+        return DialogThemes.getTheme( owner );
+    }
+
+    /**
+     * Sets the listener of the lifecycle of all dialogs, e.g. a
+     * {@link DefaultDialogMetrics} exported over JMX. Can be called from any
+     * thread.
+     *
+     * @param metrics the metrics to report to, null to stop reporting.
+     */
+    public static void setMetrics(DialogMetrics metrics) {
+        DialogScheduler.setMetrics( metrics );
+    }
+
+    /**
+     * @return the metrics dialogs report to, null if none.
+     */
+    public static DialogMetrics getMetrics() {
+        return DialogScheduler.getMetrics();
+    }
+
+    /**
+     * Configures the cache of decoded dialog icons. Icons are decoded once and
+     * shared by all dialogs; unused icons may also be reclaimed by the garbage
+     * collector.
+     *
+     * @param maxSize the maximum number of decoded icons kept in the cache.
+     * @param backgroundLoading whether icons not yet cached are decoded in the
+     *            background instead of delaying the dialog.
+     */
+    public static void setIconCacheOptions(int maxSize, boolean backgroundLoading) {
+        DialogResources.iconCache.setMaxSize( maxSize );
+        DialogResources.iconCache.setBackgroundLoading( backgroundLoading );
+    }
+
+    /**
+     * @return the hit and miss counters of the icon cache.
+     */
+    public static CacheStatistics getIconCacheStatistics() {
+        return DialogResources.iconCache.getStatistics();
+    }
+
+    /**
+     * @return the hit and miss counters of the localized message cache.
+     */
+    public static CacheStatistics getMessageCacheStatistics() {
+        return DialogResources.getMessageCacheStatistics();
+    }
+
+    /**
+     * Loads and caches everything the first dialog of the given types would
+     * otherwise load while the user waits: the dialog classes, the localized
+     * resources, the icons, the stylesheet and a ready to use dialog window
+     * for the given owner.
+     * <p>
+     * Meant to be called during application idle time, e.g. right after the
+     * primary stage is shown. Can be called from any thread, the window and
+     * stylesheet part is run on the JavaFX Application Thread.
+     *
+     * @param owner the stage future dialogs will be parented to, may be null.
+     * @param dialogTypes the dialog types to warm, all types if none given.
+     * @return what was warmed and how long it took.
+     */
+    public static PrewarmReport prewarm(final Stage owner, final DialogType... dialogTypes) {
+        final List<DialogType> types = dialogTypes.length == 0
+                ? Arrays.asList( DialogType.values() ) : Arrays.asList( dialogTypes );
+
+        long start = System.nanoTime();
+        ClassLoader loader = Dialogs.class.getClassLoader();
+        for ( Class<?> dialogClass : PREWARM_CLASSES ) {
+            try {
+                Class.forName( dialogClass.getName(), true, loader );
+            } catch ( ClassNotFoundException ex ) {
+                throw new IllegalStateException( ex );
+            }
+        }
+        long classLoading = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for ( String key : PREWARM_MESSAGE_KEYS ) {
+            DialogResources.getMessage( key );
+        }
+        long resources = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for ( DialogType type : types ) {
+            type.getImage();
+        }
+        long icons = System.nanoTime() - start;
+
+        // Pooled windows, in the style the default presentation asks for.
+        final DialogPresentation windowPresentation = getDefaultPresentation() == DialogPresentation.OVERLAY
+                ? DialogPresentation.WINDOW : getDefaultPresentation();
+        // Windows can only be built on the JavaFX Application Thread.
+        long[] styling = DialogThreads.callAndWait( new Callable<long[]>()
+        {
+            @Override
+            public long[] call() {
+                long start = System.nanoTime();
+                for ( DialogType type : types ) {
+                    DialogTemplate<Object> template = new DialogTemplate<>( owner, type.getDefaultTitle(),
+                            type.getDefaultMasthead(), type.getDefaultOptions(), windowPresentation );
+                    template.setSimpleContent( type.getDefaultMasthead(), type );
+                    Parent root = template.getDialog().getScene().getRoot();
+                    root.impl_processCSS( true );
+                    root.layout();
+                    DialogPool.release( template.getDialog() );
+                }
+                return new long[] { System.nanoTime() - start, DialogPool.getIdleCount() };
+            }
+        } );
+
+        return new PrewarmReport( types, classLoading, resources, icons, styling[0], (int) styling[1] );
     }
 
+    // Loaded by prewarm(), in the order the first dialog would load them.
+    private static final Class<?>[] PREWARM_CLASSES = {
+            DialogTemplate.class, FXDialog.class, DialogPool.class, DialogResources.class, UITextArea.class,
+            ExceptionDialog.class };
+
+    private static final String[] PREWARM_MESSAGE_KEYS = {
+            "common.ok.btn", "common.cancel.btn", "common.yes.btn", "common.no.btn", "common.close.btn",
+            "common.detail.button", "exception.dialog.title", "exception.dialog.label" };
+
     //-----------------------------------------------------------------------------------
     //
     // Private API
     //
-    // These methods are responsible for the actual creation of the Dialog.
+    // These methods are responsible for the actual creation of the Dialog. Templates
+    // are always created on the JavaFX Application Thread. Blocking callers run a nested
+    // event loop on that thread, callers on other threads are parked until the dialog
+    // is closed. Identical simple and error dialogs are merged by the DialogCoalescer,
+    // all dialogs are shown one at a time per owner by the DialogScheduler.
     //-----------------------------------------------------------------------------------
 
     private static DialogResponse showSimpleContentDialog(final Stage owner, final String title,
             final String masthead, final String message, DialogType dialogType, final DialogOptions options) {
 
-        DialogTemplate template = new DialogTemplate( owner, title, masthead, options );
-        template.setSimpleContent( message, dialogType );
+        return DialogThreads.await( showSimpleContentDialogAsync( owner, title, masthead, message, dialogType,
+                options ) );
+    }
+
+    private static DialogFuture<DialogResponse> showSimpleContentDialogAsync(final Stage owner, final String title,
+            final String masthead, final String message, DialogType dialogType, final DialogOptions options) {
 
-        return showDialog( template );
+        return showDialogAsync( owner, new DialogRequest( dialogType, message ).withMasthead( masthead )
+                .withTitle( title ).withOptions( options ) );
     }
 
-    private static DialogResponse showDialog(DialogTemplate template) {
-        try {
-            template.getDialog().centerOnScreen();
-            template.show();
-            return template.getResponse();
-        } catch ( Exception ex ) {
-            return CLOSED;
-        }
+    private static DialogFuture<DialogResponse> showCoalescedDialogAsync(final Window owner,
+            final DialogRequest request, final Callable<DialogTemplate<Object>> factory) {
+        return DialogThreads.callLater( new Callable<DialogFuture<DialogResponse>>()
+        {
+            @Override
+            public DialogFuture<DialogResponse> call() {
+                return DialogCoalescer.show( owner, request, factory );
+            }
+        } );
+    }
+
+    private static <T> DialogResponse showTemplate(Window owner, DialogType type,
+            Callable<DialogTemplate<T>> factory) {
+        return DialogThreads.await( showTemplateAsync( owner, type, factory ) );
     }
 
-    private static <T> T showUserInputDialog(DialogTemplate<T> template) {
+    private static <T> DialogFuture<DialogResponse> showTemplateAsync(final Window owner, final DialogType type,
+            final Callable<DialogTemplate<T>> factory) {
+        return DialogThreads.callLater( new Callable<DialogFuture<DialogResponse>>()
+        {
+            @Override
+            public DialogFuture<DialogResponse> call() {
+                return DialogScheduler.schedule( owner, type, type.getDefaultPriority(), factory ).future;
+            }
+        } );
+    }
 
-        template.getDialog().centerOnScreen();
-        template.show();
+    private static <T> T showUserInputDialog(Window owner, Callable<DialogTemplate<T>> factory) {
+        return DialogThreads.await( showUserInputDialogAsync( owner, factory ) );
+    }
 
-        if ( template.getResponse() == OK ) {
-            return template.getInputResponse();
-        } else {
-            return null;
-        }
+    private static <T> DialogFuture<T> showUserInputDialogAsync(final Window owner,
+            final Callable<DialogTemplate<T>> factory) {
+        return DialogThreads.callLater( new Callable<DialogFuture<T>>()
+        {
+            @Override
+            public DialogFuture<T> call() {
+                final DialogScheduler.ScheduledDialog<T> dialog = DialogScheduler.schedule( owner, DialogType.INPUT,
+                        DialogType.INPUT.getDefaultPriority(), factory );
+                return dialog.future.map( new Callback<DialogResponse, T>()
+                {
+                    @Override
+                    public T call(DialogResponse response) {
+                        return response == OK ? dialog.getTemplate().getInputResponse() : null;
+                    }
+                } );
+            }
+        } );
+    }
+
+    //---- Template factories -----------------------------------------------------------
+
+    private static Callable<DialogTemplate<Object>> simpleContentTemplate(final Stage owner, final String title,
+            final String masthead, final String message, final DialogType dialogType, final DialogOptions options,
+            final DialogPresentation presentation) {
+
+        return new Callable<DialogTemplate<Object>>()
+        {
+            @Override
+            public DialogTemplate<Object> call() {
+                DialogTemplate<Object> template = new DialogTemplate<>( owner, title, masthead, options,
+                        presentation );
+                template.setSimpleContent( message, dialogType );
+                return template;
+            }
+        };
     }
 
-    private static DialogResponse showCustomDialog(DialogTemplate template) {
+    private static Callable<DialogTemplate<Object>> errorTemplate(final Stage owner, final String title,
+            final String masthead, final String message, final Throwable throwable,
+            final DialogPresentation presentation) {
+
+        return new Callable<DialogTemplate<Object>>()
+        {
+            @Override
+            public DialogTemplate<Object> call() {
+                DialogTemplate<Object> template = new DialogTemplate<>( owner, title, masthead, null, presentation );
+                template.setErrorContent( message, throwable );
+                return template;
+            }
+        };
+    }
 
-        try {
-//            template.options = DialogType.CUSTOM.defaultOptions;
-            template.getDialog().centerOnScreen();
-            template.show();
-            return template.getResponse();
-        } catch ( Exception ex ) {
-            return CLOSED;
-        }
-//        if (template.getResponse() == OK) {
-//                return template.getInputResponse();
-//        } else {
-//                return null;
-//        }
+    private static <T> Callable<DialogTemplate<T>> inputTemplate(final Stage owner, final String title,
+            final String masthead, final String message, final T initialValue, final List<T> choices) {
+
+        return new Callable<DialogTemplate<T>>()
+        {
+            @Override
+            public DialogTemplate<T> call() {
+                DialogTemplate<T> template = new DialogTemplate<>( owner, title, masthead, null );
+                template.setInputContent( message, initialValue, choices );
+                return template;
+            }
+        };
+    }
+
+    private static Callable<DialogTemplate<String>> specTemplate(final Stage owner, final DialogSpec spec,
+            Object[] arguments) {
+
+        final String title = DialogSpec.format( spec.getTitle(), arguments );
+        final String masthead = DialogSpec.format( spec.getMasthead(), arguments );
+        final String message = DialogSpec.format( spec.getMessage(), arguments );
+        return new Callable<DialogTemplate<String>>()
+        {
+            @Override
+            public DialogTemplate<String> call() {
+                return CompiledDialogs.obtain( spec, owner, title, masthead, message );
+            }
+        };
+    }
+
+    private static <T> Callable<DialogTemplate<T>> validated(final Callable<DialogTemplate<T>> factory,
+            final InputValidator<? super T> validator) {
+
+        return new Callable<DialogTemplate<T>>()
+        {
+            @Override
+            public DialogTemplate<T> call() throws Exception {
+                DialogTemplate<T> template = factory.call();
+                template.setValidator( validator );
+                return template;
+            }
+        };
+    }
+
+    private static <T, V> Callable<DialogTemplate<T>> validated(final Callable<DialogTemplate<T>> factory,
+            final ObservableValue<V> value, final InputValidator<? super V> validator) {
+
+        return new Callable<DialogTemplate<T>>()
+        {
+            @Override
+            public DialogTemplate<T> call() throws Exception {
+                DialogTemplate<T> template = factory.call();
+                template.setValidator( value, validator );
+                return template;
+            }
+        };
+    }
+
+    private static <T> Callable<DialogTemplate<T>> pagedInputTemplate(final Stage owner, final String title,
+            final String masthead, final String message, final T initialValue, final ChoicePageProvider<T> choices) {
+
+        return new Callable<DialogTemplate<T>>()
+        {
+            @Override
+            public DialogTemplate<T> call() {
+                DialogTemplate<T> template = new DialogTemplate<>( owner, title, masthead, null );
+                template.setInputContent( message, initialValue, choices );
+                return template;
+            }
+        };
+    }
+
+    private static Callable<DialogTemplate<String>> passwordTemplate(final Stage owner, final String title,
+            final String masthead, final String message) {
+
+        return new Callable<DialogTemplate<String>>()
+        {
+            @Override
+            public DialogTemplate<String> call() {
+                DialogTemplate<String> template = new DialogTemplate<>( owner, title, masthead, DialogOptions.OK );
+                template.setPasswordContent( message );
+                return template;
+            }
+        };
+    }
+
+    private static Callable<DialogTemplate<Object>> customTemplate(final Stage owner, final Pane customContentPanel,
+            final String title, final String masthead, final DialogOptions options,
+            final Callback<Void, Void> callback) {
+
+        return new Callable<DialogTemplate<Object>>()
+        {
+            @Override
+            public DialogTemplate<Object> call() {
+                DialogTemplate<Object> template = new DialogTemplate<>( owner, customContentPanel, title, masthead,
+                        options );
+                template.setCustomContent( customContentPanel );
+                template.setCustomCallback( callback );
+                return template;
+            }
+        };
     }
 }
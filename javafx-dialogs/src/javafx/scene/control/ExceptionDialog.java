@@ -24,24 +24,40 @@
  */
 package javafx.scene.control;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
+import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import javafx.util.Callback;
 
 /**
- *
+ * Shows the stack trace of a throwable.
+ * <p>
+ * The trace is turned into a {@link StackTraceModel} on a background thread
+ * and shown in a tree view, which only creates cells for the visible rows.
+ * Causes and suppressed exceptions are collapsed until expanded, and their
+ * rows are only created then.
  */
 class ExceptionDialog extends FXDialog
 {
-    public ExceptionDialog(Stage parent, Throwable throwable) {
+    private final StackPane tracePanel = new StackPane();
+    private DialogFuture<StackTraceModel> model;
+
+    public ExceptionDialog(Stage parent, final Throwable throwable) {
         super( DialogResources.getMessage( "exception.dialog.title" ) );
 
         initModality( Modality.APPLICATION_MODAL );
@@ -55,23 +71,57 @@ class ExceptionDialog extends FXDialog
             Label label = new Label( DialogResources.getString( "exception.dialog.label" ) );
             labelPanel.setLeft( label );
             contentPanel.getChildren().add( labelPanel );
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter( sw );
-            throwable.printStackTrace( pw );
-            TextArea text = new TextArea( sw.toString() );
-            text.setEditable( false );
-            text.setWrapText( true );
-            text.setPrefWidth( 60 * 8 );
-            text.setPrefHeight( 20 * 12 );
-            VBox.setVgrow( text, Priority.ALWAYS );
-            contentPanel.getChildren().add( text );
+            tracePanel.getChildren().add( new ProgressIndicator() );
+            VBox.setVgrow( tracePanel, Priority.ALWAYS );
+            contentPanel.getChildren().add( tracePanel );
+
+            model = DialogThreads.background( new Callable<StackTraceModel>()
+            {
+                @Override
+                public StackTraceModel call() {
+                    return StackTraceModel.build( throwable );
+                }
+            } );
+            model.addListener( new Callback<DialogFuture<StackTraceModel>, Void>()
+            {
+                @Override
+                public Void call(DialogFuture<StackTraceModel> done) {
+                    if ( done.isCancelled() ) {
+                        return null;
+                    }
+                    if ( done.getFailure() != null ) {
+                        tracePanel.getChildren().setAll( new Label( throwable.toString() ) );
+                    } else {
+                        tracePanel.getChildren().setAll( createTraceView( done.getNow( null ) ) );
+                    }
+                    return null;
+                }
+            } );
+            setOnHidden( new EventHandler<WindowEvent>()
+            {
+                @Override
+                public void handle(WindowEvent event) {
+                    model.cancel( true );
+                }
+            } );
         }
 
         // --- getBtnPanel
-        // This panel contains right-aligned "Close" button.  It should
-        // dismiss the dialog and dispose of it.
+        // This panel contains right-aligned "Copy All" and "Close" buttons.
+        // The latter should dismiss the dialog and dispose of it.
         HBox btnPanel = new HBox();
         btnPanel.getStyleClass().add( "button-panel" );
+        if ( throwable != null ) {
+            Button copyBtn = new Button( DialogResources.getMessage( "exception.dialog.copy.btn" ) );
+            copyBtn.setOnAction( new EventHandler<ActionEvent>()
+            {
+                @Override
+                public void handle(ActionEvent e) {
+                    copyToClipboard();
+                }
+            } );
+            btnPanel.getChildren().add( copyBtn );
+        }
         Button dismissBtn = new Button( DialogResources.getMessage( "common.close.btn" ) );
         dismissBtn.setPrefWidth( 80 );
         dismissBtn.setOnAction( new EventHandler<ActionEvent>()
@@ -90,4 +140,90 @@ class ExceptionDialog extends FXDialog
         // --- initComponents
     }
 
+    static TreeView<String> createTraceView(StackTraceModel model) {
+        TraceTreeItem root = new TraceTreeItem( model );
+        root.setExpanded( true );
+        TreeView<String> view = new TreeView<>( root );
+        view.getStyleClass().add( "stack-trace" );
+        return view;
+    }
+
+    /**
+     * Writes the whole trace on a background thread and puts it on the
+     * clipboard once done. The clipboard only takes a string, so the text
+     * exists once in full: it is written line by line into a buffer sized
+     * up front, to avoid copying it while it grows.
+     */
+    private void copyToClipboard() {
+        model.map( new Callback<StackTraceModel, Void>()
+        {
+            @Override
+            public Void call(final StackTraceModel trace) {
+                DialogThreads.background( new Callable<String>()
+                {
+                    @Override
+                    public String call() throws IOException {
+                        long length = trace.length();
+                        StringBuilder text = new StringBuilder( (int) Math.min( length, Integer.MAX_VALUE ) );
+                        trace.write( text );
+                        return text.toString();
+                    }
+                } ).addListener( new Callback<DialogFuture<String>, Void>()
+                {
+                    @Override
+                    public Void call(DialogFuture<String> text) {
+                        if ( text.getNow( null ) != null ) {
+                            ClipboardContent content = new ClipboardContent();
+                            content.putString( text.getNow( null ) );
+                            Clipboard.getSystemClipboard().setContent( content );
+                        }
+                        return null;
+                    }
+                } );
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * A throwable of the trace, whose frames and nested throwables are only
+     * turned into tree items when it is first expanded.
+     */
+    private static final class TraceTreeItem extends TreeItem<String>
+    {
+        private final StackTraceModel model;
+        private boolean childrenCreated;
+
+        TraceTreeItem(StackTraceModel model) {
+            super( model.getHeader() );
+            this.model = model;
+        }
+
+        @Override
+        public boolean isLeaf() {
+            return model.getFrames().length == 0 && model.getFramesInCommon() == 0
+                    && model.getChildren().isEmpty();
+        }
+
+        @Override
+        public ObservableList<TreeItem<String>> getChildren() {
+            ObservableList<TreeItem<String>> children = super.getChildren();
+            if ( !childrenCreated ) {
+                childrenCreated = true;
+                List<TreeItem<String>> items = new ArrayList<>( model.getFrames().length + 1
+                        + model.getChildren().size() );
+                for ( String frame : model.getFrames() ) {
+                    items.add( new TreeItem<>( "at " + frame ) );
+                }
+                if ( model.getFramesInCommon() > 0 ) {
+                    items.add( new TreeItem<>( "... " + model.getFramesInCommon() + " more" ) );
+                }
+                for ( StackTraceModel child : model.getChildren() ) {
+                    items.add( new TraceTreeItem( child ) );
+                }
+                children.setAll( items );
+            }
+            return children;
+        }
+    }
 }
@@ -27,13 +27,17 @@ package javafx.scene.control;
 import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.List;
 
+import javafx.animation.AnimationTimer;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.event.EventType;
 import javafx.geometry.Point2D;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
@@ -55,9 +59,15 @@ import com.sun.javafx.css.StyleManager;
 /**
  * Heavyweight dialog implementation
  */
-class FXDialog extends Stage
+class FXDialog extends Stage implements DialogHost
 {
-    private static final URL DIALOGS_CSS_URL = FXDialog.class.getResource( "dialogs.css" );
+    // Resolved once: every dialog scene uses the same URL, so the StyleManager
+    // parses the stylesheet once and shares it. The build compiles dialogs.css
+    // to dialogs.bss, which loads faster; the text form is used when running
+    // from the sources.
+    private static final String DIALOGS_STYLESHEET = findStylesheet( "dialogs" );
+    // Added after it for opaque windows: no shadow, no transparent margin.
+    private static final String OPAQUE_STYLESHEET = findStylesheet( "dialogs-opaque" );
 
     private static final int HEADER_HEIGHT = 28;
 
@@ -67,9 +77,21 @@ class FXDialog extends Stage
     private Button minButton;
     private Button maxButton;
     private Rectangle resizeCorner;
+    // Distance of the resize corner from the bottom right of the window,
+    // larger when the window has a transparent margin for the shadow.
+    private double resizeCornerInset = 20;
     private double mouseDragOffsetX = 0;
     private double mouseDragOffsetY = 0;
     protected Label titleLabel;
+    // Set when the dialog is handed out by the DialogPool.
+    private DialogPool.PoolKey poolKey;
+    private DialogTheme theme;
+    // Applies the latest dragged bounds once per pulse.
+    private final WindowUpdater windowUpdater = new WindowUpdater();
+    // The content kept at its size while the window is resized, with its max size.
+    private Region frozenContent;
+    private double frozenMaxWidth;
+    private double frozenMaxHeight;
 
     //---- Constructors -----------------------------------------------------------------
 
@@ -97,6 +119,10 @@ class FXDialog extends Stage
         resizableProperty().addListener( new InvalidationListener() {
             @Override
             public void invalidated(Observable valueModel) {
+                if ( decoratedRoot == null ) {
+                    // native decorations
+                    return;
+                }
                 resizeCorner.setVisible( isResizable() );
                 maxButton.setVisible( isResizable() );
 
@@ -114,9 +140,11 @@ class FXDialog extends Stage
         if ( stageStyle == StageStyle.DECORATED ) {
             scene = new Scene( root );
             // !CHANGE START!
-            scene.getStylesheets().addAll( DIALOGS_CSS_URL.toExternalForm() );
+            scene.getStylesheets().addAll( DIALOGS_STYLESHEET, OPAQUE_STYLESHEET );
+            root.getStyleClass().addAll( "dialog", "opaque-dialog", "native-decorated" );
             // !CHANGE END!
             setScene( scene );
+            DialogThemes.apply( this );
             return;
         }
 
@@ -127,7 +155,7 @@ class FXDialog extends Stage
             protected void layoutChildren() {
                 super.layoutChildren();
                 if ( resizeCorner != null ) {
-                    resizeCorner.relocate( getWidth() - 20, getHeight() - 20 );
+                    resizeCorner.relocate( getWidth() - resizeCornerInset, getHeight() - resizeCornerInset );
                 }
             }
         };
@@ -135,17 +163,18 @@ class FXDialog extends Stage
 
         scene = new Scene( decoratedRoot );
 
-        String css = (String) AccessController.doPrivileged( new PrivilegedAction() {
-            @Override
-            public Object run() {
-                return DIALOGS_CSS_URL.toExternalForm();
-            }
-        } );
-        scene.getStylesheets().addAll( css );
-        scene.setFill( Color.TRANSPARENT );
-        setScene( scene );
-
         decoratedRoot.getStyleClass().addAll( "dialog", "decorated-root" );
+        if ( stageStyle == StageStyle.TRANSPARENT ) {
+            scene.getStylesheets().addAll( DIALOGS_STYLESHEET );
+            scene.setFill( Color.TRANSPARENT );
+        } else {
+            // Opaque window: the shadow would be drawn in a margin painted
+            // with the scene fill, so there is neither.
+            scene.getStylesheets().addAll( DIALOGS_STYLESHEET, OPAQUE_STYLESHEET );
+            decoratedRoot.getStyleClass().add( "opaque-dialog" );
+            resizeCornerInset = 10;
+        }
+        setScene( scene );
 
         focusedProperty().addListener( new InvalidationListener() {
             @Override
@@ -171,8 +200,13 @@ class FXDialog extends Stage
         toolBar.setOnMouseDragged( new EventHandler<MouseEvent>() {
             @Override
             public void handle(MouseEvent event) {
-                setX( event.getScreenX() - mouseDragOffsetX );
-                setY( event.getScreenY() - mouseDragOffsetY );
+                windowUpdater.move( event.getScreenX() - mouseDragOffsetX, event.getScreenY() - mouseDragOffsetY );
+            }
+        } );
+        toolBar.setOnMouseReleased( new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                windowUpdater.flush();
             }
         } );
 
@@ -216,6 +250,7 @@ class FXDialog extends Stage
 
             @Override
             public void handle(Event event) {
+                long traceStart = DialogTracer.start();
                 Screen screen = Screen.getPrimary(); // todo something more sensible
                 double minX = screen.getVisualBounds().getMinX();
                 double minY = screen.getVisualBounds().getMinY();
@@ -237,6 +272,7 @@ class FXDialog extends Stage
                     setWidth( restoreW );
                     setHeight( restoreH );
                 }
+                DialogTracer.end( "maximize", FXDialog.this, traceStart, null );
             }
         } );
 
@@ -264,26 +300,155 @@ class FXDialog extends Stage
                     width = getWidth();
                     height = getHeight();
                     dragAnchor = new Point2D( event.getSceneX(), event.getSceneY() );
+                    freezeContent();
                 } else if ( type == MouseEvent.MOUSE_DRAGGED ) {
-                    setWidth( Math.max( decoratedRoot.minWidth( -1 ), width + ( event.getSceneX() - dragAnchor.getX() ) ) );
-                    setHeight( Math.max( decoratedRoot.minHeight( -1 ), height + ( event.getSceneY() - dragAnchor.getY() ) ) );
+                    windowUpdater.resize(
+                            Math.max( decoratedRoot.minWidth( -1 ), width + ( event.getSceneX() - dragAnchor.getX() ) ),
+                            Math.max( decoratedRoot.minHeight( -1 ), height + ( event.getSceneY() - dragAnchor.getY() ) ) );
+                } else if ( type == MouseEvent.MOUSE_RELEASED ) {
+                    windowUpdater.flush();
+                    thawContent();
                 }
             }
         };
         resizeCorner.setOnMousePressed( resizeHandler );
         resizeCorner.setOnMouseDragged( resizeHandler );
+        resizeCorner.setOnMouseReleased( resizeHandler );
 
         resizeCorner.setManaged( false );
         decoratedRoot.getChildren().add( resizeCorner );
+
+        DialogThemes.apply( this );
+    }
+
+    /**
+     * Returns the stage style of the windows showing dialogs with the given
+     * presentation: transparent with a shadow by default, opaque for the
+     * undecorated and decorated presentations.
+     *
+     * @param presentation how the dialog is shown, null for the default presentation.
+     */
+    static StageStyle stageStyleOf(DialogPresentation presentation) {
+        if ( presentation == null ) {
+            presentation = DialogOverlay.getDefaultPresentation();
+        }
+        switch ( presentation ) {
+            case UNDECORATED_WINDOW:
+                return StageStyle.UNDECORATED;
+            case DECORATED_WINDOW:
+                return StageStyle.DECORATED;
+            default:
+                return StageStyle.TRANSPARENT;
+        }
+    }
+
+    /**
+     * @return the URL of the dialogs stylesheet, in binary form if available.
+     */
+    static String getStylesheet() {
+        return DIALOGS_STYLESHEET;
+    }
+
+    /**
+     * Finds a stylesheet next to this class, preferring the binary form
+     * compiled by the build to the text form.
+     *
+     * @param baseName the name of the stylesheet without extension.
+     * @return the URL of the stylesheet.
+     */
+    static String findStylesheet(final String baseName) {
+        return AccessController.doPrivileged( new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                URL url = FXDialog.class.getResource( baseName + ".bss" );
+                if ( url == null ) {
+                    url = FXDialog.class.getResource( baseName + ".css" );
+                }
+                if ( url == null ) {
+                    throw new IllegalStateException( "Missing stylesheet " + baseName + ".css" );
+                }
+                return url.toExternalForm();
+            }
+        } );
+    }
+
+    /**
+     * Keeps the content at its current size and renders it from a cached
+     * bitmap until the resize gesture ends, so that growing the window only
+     * lays out and repaints the decorations.
+     */
+    private void freezeContent() {
+        Node content = root.getCenter();
+        if ( !( content instanceof Region ) ) {
+            return;
+        }
+        frozenContent = (Region) content;
+        frozenMaxWidth = frozenContent.getMaxWidth();
+        frozenMaxHeight = frozenContent.getMaxHeight();
+        frozenContent.setMaxSize( frozenContent.getWidth(), frozenContent.getHeight() );
+        frozenContent.setCache( true );
+        frozenContent.setCacheHint( CacheHint.SPEED );
+    }
+
+    private void thawContent() {
+        if ( frozenContent != null ) {
+            frozenContent.setMaxSize( frozenMaxWidth, frozenMaxHeight );
+            frozenContent.setCache( false );
+            frozenContent.setCacheHint( CacheHint.DEFAULT );
+            frozenContent = null;
+        }
+    }
+
+    /**
+     * Replaces the theme stylesheet of this dialog. The nodes are only
+     * restyled, the base stylesheet stays in place.
+     */
+    @Override
+    public void setTheme(DialogTheme theme) {
+        if ( theme == this.theme ) {
+            return;
+        }
+        List<String> stylesheets = getScene().getStylesheets();
+        if ( this.theme != null && this.theme.getStylesheet() != null ) {
+            stylesheets.remove( this.theme.getStylesheet() );
+        }
+        if ( theme.getStylesheet() != null ) {
+            stylesheets.add( theme.getStylesheet() );
+        }
+        this.theme = theme;
     }
 
-    void setContentPane(Pane pane) {
+    @Override
+    public void setContentPane(Pane pane) {
         if ( pane.getId() == null ) {
             pane.getStyleClass().add( "content-pane" );
         }
         root.setCenter( pane );
     }
 
+    DialogPool.PoolKey getPoolKey() {
+        return poolKey;
+    }
+
+    void setPoolKey(DialogPool.PoolKey poolKey) {
+        this.poolKey = poolKey;
+    }
+
+    /**
+     * Drops the content and the handlers installed by the previous user of
+     * this dialog, so it can be given new content.
+     */
+    void resetForReuse() {
+        windowUpdater.flush();
+        thawContent();
+        root.setCenter( null );
+        setOnShowing( null );
+        setOnShown( null );
+        setOnHiding( null );
+        setOnHidden( null );
+        setIconified( false );
+    }
+
     //---- Private API ------------------------------------------------------------------
 
 //    public void setIconifiable(boolean iconifiable) {
@@ -324,4 +489,66 @@ class FXDialog extends Stage
             impl_pseudoClassStateChanged( pseudoClass );
         }
     }
+
+    /**
+     * Coalesces the window moves and resizes requested by mouse events, which
+     * may come many times per frame, into one update per pulse with the
+     * latest bounds. It only runs while updates are pending.
+     */
+    private final class WindowUpdater extends AnimationTimer
+    {
+        private double x = Double.NaN;
+        private double y = Double.NaN;
+        private double width = Double.NaN;
+        private double height = Double.NaN;
+        private boolean scheduled;
+
+        void move(double x, double y) {
+            this.x = x;
+            this.y = y;
+            schedule();
+        }
+
+        void resize(double width, double height) {
+            this.width = width;
+            this.height = height;
+            schedule();
+        }
+
+        @Override
+        public void handle(long now) {
+            flush();
+        }
+
+        /**
+         * Applies the pending bounds right away, e.g. when the gesture ends.
+         */
+        void flush() {
+            if ( scheduled ) {
+                stop();
+                scheduled = false;
+            }
+            if ( !Double.isNaN( x ) ) {
+                long traceStart = DialogTracer.start();
+                setX( x );
+                setY( y );
+                x = y = Double.NaN;
+                DialogTracer.end( "drag", FXDialog.this, traceStart, null );
+            }
+            if ( !Double.isNaN( width ) ) {
+                long traceStart = DialogTracer.start();
+                setWidth( width );
+                setHeight( height );
+                width = height = Double.NaN;
+                DialogTracer.end( "resize", FXDialog.this, traceStart, decoratedRoot );
+            }
+        }
+
+        private void schedule() {
+            if ( !scheduled ) {
+                scheduled = true;
+                start();
+            }
+        }
+    }
 }
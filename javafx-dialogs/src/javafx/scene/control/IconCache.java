@@ -0,0 +1,179 @@
+package javafx.scene.control;
+
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.image.Image;
+
+/**
+ * Process wide cache of decoded dialog icons.
+ * <p>
+ * Images are keyed by resource and requested size, held through soft
+ * references and bounded to a maximum number of entries, least recently used
+ * first out. Each dialog gets its own lightweight {@code ImageView} on top of
+ * the shared {@link Image}. An image decoded in the background that fails to
+ * load is dropped from the cache.
+ */
+class IconCache
+{
+    static final int DEFAULT_MAX_SIZE = 32;
+
+    private final Map<Key, SoftReference<Image>> images = new LinkedHashMap<Key, SoftReference<Image>>( 16, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SoftReference<Image>> eldest) {
+            if ( size() > maxSize ) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile int maxSize = DEFAULT_MAX_SIZE;
+    private volatile boolean backgroundLoading = false;
+
+    /**
+     * Returns the image for the given resource, decoding it only if it is not
+     * cached yet. A width and height of 0 request the image at its natural
+     * size.
+     */
+    Image get(URL url, double width, double height) {
+        Key key = new Key( url.toString(), width, height );
+        synchronized ( images ) {
+            SoftReference<Image> ref = images.get( key );
+            Image image = ref == null ? null : ref.get();
+            if ( image != null ) {
+                hits.incrementAndGet();
+                return image;
+            }
+            if ( ref != null ) {
+                // Reclaimed by the garbage collector.
+                images.remove( key );
+                evictions.incrementAndGet();
+            }
+        }
+
+        // Decode outside of the lock, two threads may decode the same image
+        // the first time but only one of them ends up in the cache.
+        misses.incrementAndGet();
+        Image image = new Image( key.resource, width, height, true, true, backgroundLoading );
+        if ( image.isError() ) {
+            return image;
+        }
+        synchronized ( images ) {
+            SoftReference<Image> ref = images.get( key );
+            Image cached = ref == null ? null : ref.get();
+            if ( cached != null ) {
+                return cached;
+            }
+            images.put( key, new SoftReference<>( image ) );
+        }
+        if ( image.getProgress() < 1 ) {
+            dropOnError( key, image );
+        }
+        return image;
+    }
+
+    /**
+     * Removes an image loaded in the background from the cache if it turns
+     * out to be broken, so that the next dialog decodes it again.
+     */
+    private void dropOnError(final Key key, final Image image) {
+        image.errorProperty().addListener( new ChangeListener<Boolean>()
+        {
+            @Override
+            public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean error) {
+                if ( error ) {
+                    image.errorProperty().removeListener( this );
+                    remove( key, image );
+                }
+            }
+        } );
+        // The loading may have failed before the listener was added.
+        if ( image.isError() ) {
+            remove( key, image );
+        }
+    }
+
+    private void remove(Key key, Image image) {
+        synchronized ( images ) {
+            SoftReference<Image> ref = images.get( key );
+            if ( ref != null && ref.get() == image ) {
+                images.remove( key );
+            }
+        }
+    }
+
+    void setMaxSize(int maxSize) {
+        if ( maxSize < 0 ) {
+            throw new IllegalArgumentException( "Icon cache size must not be negative" );
+        }
+        this.maxSize = maxSize;
+        synchronized ( images ) {
+            Iterator<Key> it = images.keySet().iterator();
+            while ( images.size() > maxSize && it.hasNext() ) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * When enabled, icons are decoded in the background and dialogs show up
+     * without waiting for them.
+     */
+    void setBackgroundLoading(boolean backgroundLoading) {
+        this.backgroundLoading = backgroundLoading;
+    }
+
+    CacheStatistics getStatistics() {
+        synchronized ( images ) {
+            return new CacheStatistics( hits.get(), misses.get(), evictions.get(), images.size() );
+        }
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    private static final class Key
+    {
+        final String resource;
+        final double width;
+        final double height;
+
+        Key(String resource, double width, double height) {
+            this.resource = resource;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if ( !( obj instanceof Key ) ) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return resource.equals( other.resource ) && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = resource.hashCode();
+            long bits = Double.doubleToLongBits( width );
+            result = 31 * result + (int) ( bits ^ ( bits >>> 32 ) );
+            bits = Double.doubleToLongBits( height );
+            return 31 * result + (int) ( bits ^ ( bits >>> 32 ) );
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package javafx.scene.control;
+
+import java.util.concurrent.Callable;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.util.Callback;
+import javafx.util.Duration;
+
+/**
+ * Runs an {@link InputValidator} on the value of a dialog.
+ * <p>
+ * The value is validated on a background thread, a short while after its last
+ * change. Only the validation of the
+ * current value is taken into account, older ones are cancelled.
+ * {@link #submit(Runnable)} runs the given action once the current value is
+ * known to be valid, validating it right away if needed.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread.
+ */
+class InputValidation<T>
+{
+    static final Duration DEBOUNCE_DELAY = Duration.millis( 300 );
+
+    private final ObservableValue<? extends T> value;
+    private final InputValidator<? super T> validator;
+    private final PauseTransition debounce = new PauseTransition( DEBOUNCE_DELAY );
+    private final ChangeListener<T> valueListener = new ChangeListener<T>()
+    {
+        @Override
+        public void changed(ObservableValue<? extends T> observable, T oldValue, T newValue) {
+            valueChanged();
+        }
+    };
+
+    private final ReadOnlyBooleanWrapper valid = new ReadOnlyBooleanWrapper( this, "valid" );
+    private final ReadOnlyBooleanWrapper invalid = new ReadOnlyBooleanWrapper( this, "invalid" );
+    private final ReadOnlyStringWrapper message = new ReadOnlyStringWrapper( this, "message" );
+
+    private DialogFuture<String> pending;
+    private Runnable pendingSubmit;
+
+    InputValidation(ObservableValue<? extends T> value, InputValidator<? super T> validator) {
+        this.value = value;
+        this.validator = validator;
+        debounce.setOnFinished( new EventHandler<ActionEvent>()
+        {
+            @Override
+            public void handle(ActionEvent event) {
+                validate();
+            }
+        } );
+        value.addListener( valueListener );
+    }
+
+    /**
+     * @return whether the current value was validated successfully.
+     */
+    ReadOnlyBooleanProperty validProperty() {
+        return valid.getReadOnlyProperty();
+    }
+
+    /**
+     * @return whether the current value was found invalid. Both this and
+     *         {@link #validProperty()} are false while it is being validated.
+     */
+    ReadOnlyBooleanProperty invalidProperty() {
+        return invalid.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the message of the last failed validation, null if it passed.
+     */
+    ReadOnlyStringProperty messageProperty() {
+        return message.getReadOnlyProperty();
+    }
+
+    /**
+     * Runs the given action once the current value is valid. Nothing is done
+     * if it turns out to be invalid.
+     */
+    void submit(Runnable action) {
+        if ( valid.get() ) {
+            action.run();
+            return;
+        }
+        if ( invalid.get() ) {
+            return;
+        }
+        pendingSubmit = action;
+        if ( pending == null ) {
+            // not validated yet, or waiting for the user to stop typing
+            debounce.stop();
+            validate();
+        }
+    }
+
+    /**
+     * Stops validating, e.g. when the dialog is closed.
+     */
+    void dispose() {
+        value.removeListener( valueListener );
+        debounce.stop();
+        cancelPending();
+        pendingSubmit = null;
+    }
+
+    private void valueChanged() {
+        cancelPending();
+        valid.set( false );
+        invalid.set( false );
+        debounce.playFromStart();
+    }
+
+    private void validate() {
+        cancelPending();
+        final T validated = value.getValue();
+        final DialogFuture<String> validation = DialogThreads.background( new Callable<String>()
+        {
+            @Override
+            public String call() throws Exception {
+                return validator.validate( validated );
+            }
+        } );
+        pending = validation;
+        validation.addListener( new Callback<DialogFuture<String>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<String> done) {
+                if ( pending != validation || done.isCancelled() ) {
+                    return null;
+                }
+                pending = null;
+                String error = done.getFailure() != null ? failureMessage( done.getFailure() ) : done.getNow( null );
+                completed( error );
+                return null;
+            }
+        } );
+    }
+
+    private void completed(String error) {
+        message.set( error );
+        valid.set( error == null );
+        invalid.set( error != null );
+        Runnable action = pendingSubmit;
+        pendingSubmit = null;
+        if ( error == null && action != null ) {
+            action.run();
+        }
+    }
+
+    private void cancelPending() {
+        if ( pending != null ) {
+            DialogFuture<String> cancelled = pending;
+            pending = null;
+            cancelled.cancel( true );
+        }
+    }
+
+    private static String failureMessage(Throwable failure) {
+        return failure.getMessage() != null ? failure.getMessage() : failure.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package javafx.scene.control;
+
+/**
+ * Checks the value entered in a dialog before the dialog can be closed with
+ * <i>OK</i>.
+ * <p>
+ * Validation runs on a background thread, so it may take time, e.g. to check
+ * credentials against a service. It runs a short while after the user stops
+ * typing and again when <i>OK</i> is pressed; the dialog stays open, with the
+ * returned message below its content, until the value is valid. A validation
+ * made obsolete by a new value is cancelled by interrupting the thread
+ * running it.
+ *
+ * @param <T> the type of the validated value
+ */
+public interface InputValidator<T>
+{
+    /**
+     * @param value the value entered by the user.
+     * @return null if the value is valid, the message shown to the user
+     *         otherwise.
+     * @throws Exception if the value could not be validated, the exception
+     *             message is then shown to the user.
+     */
+    String validate(T value) throws Exception;
+}
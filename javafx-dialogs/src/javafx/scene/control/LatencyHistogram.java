@@ -0,0 +1,73 @@
+package javafx.scene.control;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations, with power of two buckets of
+ * microseconds. Percentiles are the upper bound of the bucket they fall in,
+ * so they are at most twice the exact value.
+ */
+final class LatencyHistogram
+{
+    // Bucket i holds durations below 2^i microseconds, the last one everything above.
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray( BUCKETS );
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.max( 0, TimeUnit.NANOSECONDS.toMicros( nanos ) );
+        int bucket = Math.min( BUCKETS - 1, 64 - Long.numberOfLeadingZeros( micros ) );
+        buckets.incrementAndGet( bucket );
+        count.incrementAndGet();
+        totalMicros.addAndGet( micros );
+        long max;
+        while ( micros > ( max = maxMicros.get() ) && !maxMicros.compareAndSet( max, micros ) ) {
+            // retry
+        }
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the mean duration in milliseconds.
+     */
+    double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : totalMicros.get() / 1000.0 / n;
+    }
+
+    /**
+     * @return the longest duration in milliseconds.
+     */
+    double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return the duration below which the given percentage of the recorded
+     *         durations fall, in milliseconds.
+     */
+    double getPercentileMillis(double percentile) {
+        long n = count.get();
+        if ( n == 0 ) {
+            return 0;
+        }
+        long rank = (long) Math.ceil( n * percentile / 100 );
+        long seen = 0;
+        for ( int i = 0; i < BUCKETS; i++ ) {
+            seen += buckets.get( i );
+            if ( seen >= rank ) {
+                return Math.min( 1L << i, maxMicros.get() ) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+}
@@ -0,0 +1,181 @@
+package javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Pos;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * Shows the message of a dialog within a budget of characters and lines.
+ * <p>
+ * A message within the budget is shown whole in a wrapping label. A longer
+ * one is cut to the budget, so that only that part is measured and wrapped,
+ * and followed by "Show more" and "Copy" links. "Show more" shows the whole
+ * message in a list view with one row per line, which only creates and
+ * measures the rows on screen; lines longer than {@link #ROW_LENGTH}
+ * characters are split over several rows. "Copy" puts the whole message on
+ * the clipboard.
+ */
+class MessageView extends VBox
+{
+    static final int DEFAULT_MAX_CHARS = 2000;
+    static final int DEFAULT_MAX_LINES = 25;
+
+    // Longest row of the expanded message, longer lines are split.
+    static final int ROW_LENGTH = 256;
+
+    private static final String ELLIPSIS = "\u2026";
+    private static final String showMoreStr = "message.show.more";
+    private static final String showLessStr = "message.show.less";
+    private static final String copyStr = "message.copy";
+
+    private static int maxChars = DEFAULT_MAX_CHARS;
+    private static int maxLines = DEFAULT_MAX_LINES;
+
+    private String text;
+    private final UITextArea preview = new UITextArea( "" );
+    private HBox links;
+    private Hyperlink showMoreLink;
+    private ListView<String> fullView;
+
+    MessageView(String text) {
+        super( 6 );
+        getStyleClass().add( "message-view" );
+
+        preview.getStyleClass().add( "center-content-area" );
+        preview.setAlignment( Pos.TOP_LEFT );
+        getChildren().add( preview );
+        setText( text );
+    }
+
+    /**
+     * Shows another message, e.g. when the dialog is shown again with new
+     * arguments. The links are only created for the first cut message.
+     */
+    void setText(String text) {
+        this.text = text;
+        // the rows of the previous message
+        fullView = null;
+        int end = previewEnd( text );
+        preview.setText( end == text.length() ? text : text.substring( 0, end ) + ELLIPSIS );
+        if ( getChildren().get( 0 ) != preview ) {
+            getChildren().set( 0, preview );
+        }
+        boolean cut = end != text.length();
+        if ( cut && links == null ) {
+            createLinks();
+        }
+        if ( links != null ) {
+            links.setVisible( cut );
+            links.setManaged( cut );
+            showMoreLink.setText( DialogResources.getMessage( showMoreStr ) );
+        }
+    }
+
+    private void createLinks() {
+        showMoreLink = new Hyperlink( DialogResources.getMessage( showMoreStr ) );
+        showMoreLink.setOnAction( new EventHandler<ActionEvent>()
+        {
+            @Override
+            public void handle(ActionEvent event) {
+                toggleFullView();
+            }
+        } );
+        Hyperlink copyLink = new Hyperlink( DialogResources.getMessage( copyStr ) );
+        copyLink.setOnAction( new EventHandler<ActionEvent>()
+        {
+            @Override
+            public void handle(ActionEvent event) {
+                ClipboardContent content = new ClipboardContent();
+                content.putString( MessageView.this.text );
+                Clipboard.getSystemClipboard().setContent( content );
+            }
+        } );
+        links = new HBox( 12 );
+        links.getStyleClass().add( "message-links" );
+        links.getChildren().addAll( showMoreLink, copyLink );
+        getChildren().add( links );
+    }
+
+    /**
+     * Sets the budget of the messages shown whole. Must be called on the
+     * JavaFX Application Thread.
+     */
+    static void setLimits(int maxChars, int maxLines) {
+        if ( maxChars <= 0 || maxLines <= 0 ) {
+            throw new IllegalArgumentException( "The message limits must be positive" );
+        }
+        MessageView.maxChars = maxChars;
+        MessageView.maxLines = maxLines;
+    }
+
+    /**
+     * @return the given text cut to the budget and followed by an ellipsis,
+     *         or the text itself if it fits.
+     */
+    static String preview(String text) {
+        if ( text == null ) {
+            return null;
+        }
+        int end = previewEnd( text );
+        return end == text.length() ? text : text.substring( 0, end ) + ELLIPSIS;
+    }
+
+    // Only looks at the characters within the budget.
+    private static int previewEnd(String text) {
+        int limit = Math.min( text.length(), maxChars );
+        int lines = 1;
+        for ( int i = 0; i < limit; i++ ) {
+            if ( text.charAt( i ) == '\n' && ++lines > maxLines ) {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    static List<String> splitRows(String text) {
+        List<String> rows = new ArrayList<>();
+        int start = 0;
+        while ( start <= text.length() ) {
+            int lineEnd = text.indexOf( '\n', start );
+            if ( lineEnd < 0 ) {
+                lineEnd = text.length();
+            }
+            int end = lineEnd > start && text.charAt( lineEnd - 1 ) == '\r' ? lineEnd - 1 : lineEnd;
+            if ( end == start ) {
+                rows.add( "" );
+            }
+            for ( int rowStart = start; rowStart < end; rowStart += ROW_LENGTH ) {
+                rows.add( text.substring( rowStart, Math.min( end, rowStart + ROW_LENGTH ) ) );
+            }
+            start = lineEnd + 1;
+        }
+        return rows;
+    }
+
+    private void toggleFullView() {
+        if ( fullView == null ) {
+            fullView = new ListView<>( FXCollections.observableList( splitRows( text ) ) );
+            fullView.getStyleClass().add( "message-lines" );
+            fullView.setPrefSize( preview.getPrefWidth(), 240 );
+        }
+        if ( getChildren().get( 0 ) == preview ) {
+            getChildren().set( 0, fullView );
+            showMoreLink.setText( DialogResources.getMessage( showLessStr ) );
+        } else {
+            getChildren().set( 0, preview );
+            showMoreLink.setText( DialogResources.getMessage( showMoreStr ) );
+        }
+        // A dialog window fits its new content, an overlay does by itself.
+        if ( getScene() != null && getScene().getWindow() instanceof FXDialog ) {
+            getScene().getWindow().sizeToScene();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package javafx.scene.control;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.util.Callback;
+
+/**
+ * A filter field above a list of choices loaded page by page from a
+ * {@link ChoicePageProvider}.
+ * <p>
+ * The first page is requested when the field is created, the next one when
+ * the user scrolls close to the end of the list. Pages are loaded on a
+ * background thread and kept in a small LRU cache, so that going back to a
+ * previous filter doesn't load its pages again. Typing a new filter cancels
+ * the page being loaded for the previous one.
+ * <p>
+ * This class is not thread safe, it must only be used from the JavaFX
+ * Application Thread.
+ */
+class PagedChoiceField<T> extends VBox
+{
+    static final int PAGE_SIZE = 100;
+
+    // Rows left below the last visible one when the next page is requested.
+    private static final int PREFETCH_ROWS = 20;
+
+    private static final int MAX_CACHED_PAGES = 32;
+
+    private static final Logger LOGGER = Logger.getLogger( PagedChoiceField.class.getName() );
+
+    private static final String filterPromptStr = "choice.filter.prompt";
+
+    private final ChoicePageProvider<T> provider;
+    private final TextField filterField = new TextField();
+    private final ProgressIndicator loadingIndicator = new ProgressIndicator();
+    private final ListView<T> listView = new ListView<>();
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final Map<PageKey, List<T>> pages = new LinkedHashMap<PageKey, List<T>>( 16, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PageKey, List<T>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    private String query = "";
+    private boolean lastPageLoaded;
+    private boolean nextPageRequested;
+    private DialogFuture<List<T>> pendingPage;
+
+    PagedChoiceField(ChoicePageProvider<T> provider, T initialValue) {
+        super( 6 );
+        this.provider = provider;
+        getStyleClass().add( "type-ahead-choice" );
+
+        filterField.setPromptText( DialogResources.getMessage( filterPromptStr ) );
+        filterField.textProperty().addListener( new ChangeListener<String>()
+        {
+            @Override
+            public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                setQuery( newValue == null ? "" : newValue );
+            }
+        } );
+        filterField.setOnKeyPressed( new EventHandler<KeyEvent>()
+        {
+            @Override
+            public void handle(KeyEvent event) {
+                if ( event.getCode() == KeyCode.DOWN && !items.isEmpty() ) {
+                    listView.requestFocus();
+                    if ( listView.getSelectionModel().isEmpty() ) {
+                        listView.getSelectionModel().selectFirst();
+                    }
+                    event.consume();
+                }
+            }
+        } );
+        loadingIndicator.setPrefSize( 16, 16 );
+        loadingIndicator.setVisible( false );
+        HBox.setHgrow( filterField, Priority.ALWAYS );
+        HBox filterPanel = new HBox( 6 );
+        filterPanel.getChildren().addAll( filterField, loadingIndicator );
+
+        listView.setItems( items );
+        listView.setPrefHeight( 200 );
+        listView.setCellFactory( new Callback<ListView<T>, ListCell<T>>()
+        {
+            @Override
+            public ListCell<T> call(ListView<T> view) {
+                return new ListCell<T>()
+                {
+                    @Override
+                    protected void updateItem(T item, boolean empty) {
+                        super.updateItem( item, empty );
+                        setText( empty ? null : String.valueOf( item ) );
+                        if ( !empty && getIndex() >= items.size() - PREFETCH_ROWS ) {
+                            requestNextPage();
+                        }
+                    }
+                };
+            }
+        } );
+        if ( initialValue != null ) {
+            // Kept selected until the user picks another choice.
+            listView.getSelectionModel().select( initialValue );
+        }
+        VBox.setVgrow( listView, Priority.ALWAYS );
+        getChildren().addAll( filterPanel, listView );
+
+        loadNextPage();
+    }
+
+    /**
+     * @return the selected choice.
+     */
+    ReadOnlyObjectProperty<T> valueProperty() {
+        return listView.getSelectionModel().selectedItemProperty();
+    }
+
+    private void setQuery(String query) {
+        if ( query.equals( this.query ) ) {
+            return;
+        }
+        if ( pendingPage != null ) {
+            pendingPage.cancel( true );
+            pendingPage = null;
+        }
+        this.query = query;
+        lastPageLoaded = false;
+        items.clear();
+        loadNextPage();
+    }
+
+    // Cells are updated during layout, the items must not change then.
+    private void requestNextPage() {
+        if ( nextPageRequested || pendingPage != null || lastPageLoaded ) {
+            return;
+        }
+        nextPageRequested = true;
+        Platform.runLater( new Runnable()
+        {
+            @Override
+            public void run() {
+                nextPageRequested = false;
+                loadNextPage();
+            }
+        } );
+    }
+
+    private void loadNextPage() {
+        if ( pendingPage != null || lastPageLoaded ) {
+            return;
+        }
+        final PageKey key = new PageKey( query, items.size() );
+        List<T> page = pages.get( key );
+        if ( page != null ) {
+            addPage( page );
+            return;
+        }
+
+        loadingIndicator.setVisible( true );
+        final DialogFuture<List<T>> loading = DialogThreads.background( new Callable<List<T>>()
+        {
+            @Override
+            public List<T> call() throws Exception {
+                return provider.getPage( key.query, key.offset, PAGE_SIZE );
+            }
+        } );
+        pendingPage = loading;
+        loading.addListener( new Callback<DialogFuture<List<T>>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<List<T>> done) {
+                if ( pendingPage != loading ) {
+                    // a page of a previous filter
+                    return null;
+                }
+                pendingPage = null;
+                loadingIndicator.setVisible( false );
+                if ( done.getFailure() != null ) {
+                    LOGGER.log( Level.WARNING, "Could not load choices", done.getFailure() );
+                    lastPageLoaded = true;
+                } else if ( !done.isCancelled() ) {
+                    List<T> page = done.getNow( null );
+                    pages.put( key, page );
+                    addPage( page );
+                }
+                return null;
+            }
+        } );
+    }
+
+    private void addPage(List<T> page) {
+        lastPageLoaded = page == null || page.size() < PAGE_SIZE;
+        if ( page != null ) {
+            items.addAll( page );
+        }
+    }
+
+    private static final class PageKey
+    {
+        final String query;
+        final int offset;
+
+        PageKey(String query, int offset) {
+            this.query = query;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if ( !( obj instanceof PageKey ) ) {
+                return false;
+            }
+            PageKey other = (PageKey) obj;
+            return offset == other.offset && query.equals( other.query );
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + offset;
+        }
+    }
+}
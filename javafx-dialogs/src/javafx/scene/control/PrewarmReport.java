@@ -0,0 +1,90 @@
+package javafx.scene.control;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes what {@link Dialogs#prewarm(javafx.stage.Stage, DialogType...)}
+ * has loaded and how long each step took.
+ */
+public final class PrewarmReport
+{
+    private final List<DialogType> dialogTypes;
+    private final long classLoadingNanos;
+    private final long resourcesNanos;
+    private final long iconsNanos;
+    private final long stylingNanos;
+    private final int pooledDialogs;
+
+    PrewarmReport(List<DialogType> dialogTypes, long classLoadingNanos, long resourcesNanos, long iconsNanos,
+            long stylingNanos, int pooledDialogs) {
+        this.dialogTypes = Collections.unmodifiableList( dialogTypes );
+        this.classLoadingNanos = classLoadingNanos;
+        this.resourcesNanos = resourcesNanos;
+        this.iconsNanos = iconsNanos;
+        this.stylingNanos = stylingNanos;
+        this.pooledDialogs = pooledDialogs;
+    }
+
+    /**
+     * @return the dialog types whose icons, content and styling were warmed.
+     */
+    public List<DialogType> getDialogTypes() {
+        return dialogTypes;
+    }
+
+    /**
+     * @return the time spent loading the dialog implementation classes.
+     */
+    public long getClassLoadingTime(TimeUnit unit) {
+        return unit.convert( classLoadingNanos, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * @return the time spent loading the localized resources.
+     */
+    public long getResourcesTime(TimeUnit unit) {
+        return unit.convert( resourcesNanos, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * @return the time spent decoding the dialog icons.
+     */
+    public long getIconsTime(TimeUnit unit) {
+        return unit.convert( iconsNanos, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * @return the time spent building the dialog windows and applying the
+     *         stylesheet to them.
+     */
+    public long getStylingTime(TimeUnit unit) {
+        return unit.convert( stylingNanos, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * @return the total time spent warming up.
+     */
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert( classLoadingNanos + resourcesNanos + iconsNanos + stylingNanos, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * @return the number of dialog windows left ready for reuse.
+     */
+    public int getPooledDialogs() {
+        return pooledDialogs;
+    }
+
+    @Override
+    public String toString() {
+        return "PrewarmReport[types=" + dialogTypes
+                + ", classes=" + getClassLoadingTime( TimeUnit.MILLISECONDS ) + "ms"
+                + ", resources=" + getResourcesTime( TimeUnit.MILLISECONDS ) + "ms"
+                + ", icons=" + getIconsTime( TimeUnit.MILLISECONDS ) + "ms"
+                + ", styling=" + getStylingTime( TimeUnit.MILLISECONDS ) + "ms"
+                + ", total=" + getTotalTime( TimeUnit.MILLISECONDS ) + "ms"
+                + ", pooledDialogs=" + pooledDialogs + "]";
+    }
+}
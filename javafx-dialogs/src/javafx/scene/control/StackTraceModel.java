@@ -0,0 +1,173 @@
+package javafx.scene.control;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A throwable, its frames and its cause and suppressed chains, turned into
+ * plain strings so that it can be built off the JavaFX Application Thread and
+ * displayed without touching the throwable again.
+ * <p>
+ * As {@link Throwable#printStackTrace()} does, the frames a cause has in
+ * common with the trace enclosing it are not repeated but only counted.
+ */
+final class StackTraceModel
+{
+    static final String CAUSE_CAPTION = "Caused by: ";
+    static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+    private final String caption;
+    private final String description;
+    private final String[] frames;
+    private final int framesInCommon;
+    private final List<StackTraceModel> children;
+
+    private StackTraceModel(String caption, String description, String[] frames, int framesInCommon,
+            List<StackTraceModel> children) {
+        this.caption = caption;
+        this.description = description;
+        this.frames = frames;
+        this.framesInCommon = framesInCommon;
+        this.children = children;
+    }
+
+    /**
+     * Builds the model of the given throwable. Can be called on any thread.
+     */
+    static StackTraceModel build(Throwable throwable) {
+        Set<Throwable> seen = Collections.newSetFromMap( new IdentityHashMap<Throwable, Boolean>() );
+        return build( throwable, new StackTraceElement[0], "", seen );
+    }
+
+    private static StackTraceModel build(Throwable throwable, StackTraceElement[] enclosingTrace, String caption,
+            Set<Throwable> seen) {
+        seen.add( throwable );
+        StackTraceElement[] trace = throwable.getStackTrace();
+
+        // Frames in common with the enclosing trace, counted from the bottom.
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while ( m >= 0 && n >= 0 && trace[m].equals( enclosingTrace[n] ) ) {
+            m--;
+            n--;
+        }
+        String[] frames = new String[m + 1];
+        for ( int i = 0; i <= m; i++ ) {
+            frames[i] = trace[i].toString();
+        }
+
+        List<StackTraceModel> children = new ArrayList<>();
+        for ( Throwable suppressed : throwable.getSuppressed() ) {
+            children.add( child( suppressed, trace, SUPPRESSED_CAPTION, seen ) );
+        }
+        Throwable cause = throwable.getCause();
+        if ( cause != null ) {
+            children.add( child( cause, trace, CAUSE_CAPTION, seen ) );
+        }
+        return new StackTraceModel( caption, throwable.toString(), frames, trace.length - 1 - m, children );
+    }
+
+    private static StackTraceModel child(Throwable throwable, StackTraceElement[] enclosingTrace, String caption,
+            Set<Throwable> seen) {
+        if ( seen.contains( throwable ) ) {
+            return new StackTraceModel( caption, "[CIRCULAR REFERENCE:" + throwable + "]", new String[0], 0,
+                    Collections.<StackTraceModel>emptyList() );
+        }
+        return build( throwable, enclosingTrace, caption, seen );
+    }
+
+    /**
+     * @return the caption and description of the throwable, as the first
+     *         line of its trace.
+     */
+    String getHeader() {
+        return caption + description;
+    }
+
+    /**
+     * @return the frames of the throwable, without the frames in common with
+     *         the enclosing trace.
+     */
+    String[] getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return the number of frames left out because they are in common with
+     *         the enclosing trace.
+     */
+    int getFramesInCommon() {
+        return framesInCommon;
+    }
+
+    /**
+     * @return the models of the suppressed throwables, then of the cause.
+     */
+    List<StackTraceModel> getChildren() {
+        return children;
+    }
+
+    /**
+     * Writes the trace in the format of {@link Throwable#printStackTrace()},
+     * one line at a time.
+     */
+    void write(Appendable out) throws IOException {
+        write( out, "" );
+    }
+
+    /**
+     * @return the number of characters {@link #write(Appendable)} writes,
+     *         counted without building the text.
+     */
+    long length() {
+        CharCounter counter = new CharCounter();
+        try {
+            write( counter );
+        } catch ( IOException ex ) {
+            throw new AssertionError( ex );
+        }
+        return counter.count;
+    }
+
+    private void write(Appendable out, String prefix) throws IOException {
+        out.append( prefix ).append( getHeader() ).append( '\n' );
+        for ( String frame : frames ) {
+            out.append( prefix ).append( "\tat " ).append( frame ).append( '\n' );
+        }
+        if ( framesInCommon > 0 ) {
+            out.append( prefix ).append( "\t... " ).append( String.valueOf( framesInCommon ) ).append( " more\n" );
+        }
+        for ( StackTraceModel child : children ) {
+            child.write( out, SUPPRESSED_CAPTION.equals( child.caption ) ? prefix + "\t" : prefix );
+        }
+    }
+
+    //---- Inner classes ----------------------------------------------------------------
+
+    private static final class CharCounter implements Appendable
+    {
+        long count;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            count += csq.length();
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            count += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            count++;
+            return this;
+        }
+    }
+}
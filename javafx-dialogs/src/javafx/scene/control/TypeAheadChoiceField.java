@@ -0,0 +1,189 @@
+package javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.util.Callback;
+
+/**
+ * A filter field above a list of choices, for choice lists too large for a
+ * combo box.
+ * <p>
+ * The list view only creates cells for the visible rows and shows the given
+ * list without copying it. Typing in the field filters the list through a
+ * {@link ChoiceIndex}: prefix matches are shown right away, matches
+ * elsewhere in the string form of the choices are added by a background
+ * search. Only the latest search updates the list.
+ */
+class TypeAheadChoiceField<T> extends VBox
+{
+    // Maximum number of matches shown for a query.
+    static final int MAX_RESULTS = 500;
+
+    private static final String filterPromptStr = "choice.filter.prompt";
+
+    private final List<T> choices;
+    private final TextField filterField = new TextField();
+    private final ListView<T> listView = new ListView<>();
+
+    private ChoiceIndex index;
+    // Positions in choices of the rows shown, null when all choices are shown.
+    private int[] positions;
+    private int generation;
+    private DialogFuture<int[]> pendingSearch;
+
+    TypeAheadChoiceField(List<T> choices, T initialValue) {
+        super( 6 );
+        this.choices = choices;
+        getStyleClass().add( "type-ahead-choice" );
+
+        filterField.setPromptText( DialogResources.getMessage( filterPromptStr ) );
+        filterField.setDisable( true );
+        filterField.textProperty().addListener( new ChangeListener<String>()
+        {
+            @Override
+            public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                search( newValue );
+            }
+        } );
+        filterField.setOnKeyPressed( new EventHandler<KeyEvent>()
+        {
+            @Override
+            public void handle(KeyEvent event) {
+                if ( event.getCode() == KeyCode.DOWN && !listView.getItems().isEmpty() ) {
+                    listView.requestFocus();
+                    if ( listView.getSelectionModel().isEmpty() ) {
+                        listView.getSelectionModel().selectFirst();
+                    }
+                    event.consume();
+                }
+            }
+        } );
+
+        listView.setPrefHeight( 200 );
+        listView.setCellFactory( new Callback<ListView<T>, ListCell<T>>()
+        {
+            @Override
+            public ListCell<T> call(ListView<T> view) {
+                return new ListCell<T>()
+                {
+                    @Override
+                    protected void updateItem(T item, boolean empty) {
+                        super.updateItem( item, empty );
+                        setText( empty ? null : labelAt( getIndex(), item ) );
+                    }
+                };
+            }
+        } );
+        showAll();
+        if ( initialValue != null ) {
+            listView.getSelectionModel().select( initialValue );
+            listView.scrollTo( listView.getSelectionModel().getSelectedIndex() );
+        }
+        VBox.setVgrow( listView, Priority.ALWAYS );
+        getChildren().addAll( filterField, listView );
+
+        // The list can be browsed while the index is built.
+        DialogThreads.background( new Callable<ChoiceIndex>()
+        {
+            @Override
+            public ChoiceIndex call() {
+                return ChoiceIndex.of( TypeAheadChoiceField.this.choices );
+            }
+        } ).addListener( new Callback<DialogFuture<ChoiceIndex>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<ChoiceIndex> built) {
+                index = built.getNow( null );
+                if ( index != null ) {
+                    filterField.setDisable( false );
+                    search( filterField.getText() );
+                }
+                return null;
+            }
+        } );
+    }
+
+    /**
+     * @return the selected choice.
+     */
+    ReadOnlyObjectProperty<T> valueProperty() {
+        return listView.getSelectionModel().selectedItemProperty();
+    }
+
+    private String labelAt(int row, T item) {
+        if ( index == null || row < 0 ) {
+            return String.valueOf( item );
+        }
+        return index.getLabel( positions == null ? row : positions[row] );
+    }
+
+    private void search(final String query) {
+        final int searchGeneration = ++generation;
+        if ( pendingSearch != null ) {
+            pendingSearch.cancel( true );
+            pendingSearch = null;
+        }
+        if ( index == null ) {
+            return;
+        }
+        if ( query == null || query.isEmpty() ) {
+            showAll();
+            return;
+        }
+
+        final ChoiceIndex searched = index;
+        int[] prefixed = searched.findByPrefix( query, MAX_RESULTS );
+        show( prefixed );
+        if ( prefixed.length == MAX_RESULTS ) {
+            return;
+        }
+        pendingSearch = DialogThreads.background( new Callable<int[]>()
+        {
+            @Override
+            public int[] call() {
+                return searched.find( query, MAX_RESULTS );
+            }
+        } );
+        pendingSearch.addListener( new Callback<DialogFuture<int[]>, Void>()
+        {
+            @Override
+            public Void call(DialogFuture<int[]> found) {
+                if ( searchGeneration == generation && found.getNow( null ) != null ) {
+                    show( found.getNow( null ) );
+                }
+                return null;
+            }
+        } );
+    }
+
+    private void showAll() {
+        positions = null;
+        listView.setItems( FXCollections.observableList( choices ) );
+    }
+
+    private void show(int[] found) {
+        T selected = listView.getSelectionModel().getSelectedItem();
+        List<T> items = new ArrayList<>( found.length );
+        for ( int position : found ) {
+            items.add( choices.get( position ) );
+        }
+        positions = found;
+        ObservableList<T> shown = FXCollections.observableList( items );
+        listView.setItems( shown );
+        if ( selected != null ) {
+            listView.getSelectionModel().select( selected );
+        }
+    }
+}
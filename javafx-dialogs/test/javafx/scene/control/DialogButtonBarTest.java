@@ -0,0 +1,107 @@
+package javafx.scene.control;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.BorderPane;
+import javafx.stage.Stage;
+
+/**
+ * Counts the layout passes of a dialog button bar while its window is resized
+ * on every pulse, then while nothing changes: a pass must not schedule another
+ * one, so the bar must be laid out at most once per resized pulse and never
+ * once the window is left alone. Changing the text of a button must then
+ * measure the button width exactly once.
+ * 
+ * Like {@link DialogsTest}, it runs without a testing framework and prints its
+ * result.
+ */
+public class DialogButtonBarTest extends Application {
+
+	private static final int RESIZED_PULSES = 120;
+	private static final int IDLE_PULSES = 30;
+	private static final int SETTLE_PULSES = 5;
+
+	private int layoutPasses;
+	private int measures;
+
+	@Override
+	public void start(final Stage stage) {
+		final DialogButtonBar buttonBar = new DialogButtonBar(6) {
+			@Override
+			protected void layoutChildren() {
+				layoutPasses++;
+				super.layoutChildren();
+			}
+
+			@Override
+			double measureButtonWidth() {
+				measures++;
+				return super.measureButtonWidth();
+			}
+		};
+		buttonBar.getButtons().addAll(new Button("OK"), new Button("Cancel"), new Button("A much longer button"));
+
+		BorderPane root = new BorderPane();
+		root.setRight(buttonBar);
+		stage.setScene(new Scene(root, 400, 60));
+		stage.show();
+
+		new AnimationTimer() {
+			private int pulse = -1;
+			private int passesBefore;
+			private int resizedPasses;
+			private int idlePasses;
+			private int measuresBefore;
+
+			@Override
+			public void handle(long now) {
+				// A pulse runs the animations before the layout, so a change
+				// made here is laid out before the next call.
+				pulse++;
+				if (pulse == 0) {
+					// the first layout is done, start counting
+					passesBefore = layoutPasses;
+				} else if (pulse == RESIZED_PULSES) {
+					resizedPasses = layoutPasses - passesBefore;
+					passesBefore = layoutPasses;
+				} else if (pulse == RESIZED_PULSES + IDLE_PULSES) {
+					idlePasses = layoutPasses - passesBefore;
+					measuresBefore = measures;
+					buttonBar.getButtons().get(1).setText("Cancel all");
+				} else if (pulse == RESIZED_PULSES + IDLE_PULSES + SETTLE_PULSES) {
+					stop();
+					report(resizedPasses, idlePasses, measures - measuresBefore, sameWidth(buttonBar));
+					stage.close();
+					Platform.exit();
+				}
+				if (pulse < RESIZED_PULSES) {
+					stage.setWidth(400 + (pulse % 40) * 5);
+				}
+			}
+		}.start();
+	}
+
+	private static boolean sameWidth(DialogButtonBar buttonBar) {
+		for (Button button : buttonBar.getButtons()) {
+			if (button.getWidth() != buttonBar.getButtonWidth()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void report(int resizedPasses, int idlePasses, int measures, boolean sameWidth) {
+		System.out.println("Button bar layout passes for " + RESIZED_PULSES + " resized pulses: " + resizedPasses);
+		System.out.println("Button bar layout passes for " + IDLE_PULSES + " idle pulses: " + idlePasses);
+		System.out.println("Button width measures after a text change: " + measures);
+		System.out.println("All buttons have the same width: " + sameWidth);
+		boolean ok = resizedPasses <= RESIZED_PULSES + 1 && idlePasses == 0 && measures == 1 && sameWidth;
+		System.out.println(ok ? "OK" : "FAILED");
+	}
+
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
@@ -31,6 +31,7 @@ public class DialogsTest extends Application {
 		showInputDialog(primaryStage);
 		showInputDialogWithChoices(primaryStage);
 		showCustomDialog(primaryStage);
+		showConfirmDialogAsync(primaryStage);
 	}
 	
 
@@ -115,6 +116,18 @@ public class DialogsTest extends Application {
 		System.out.println("Custom Dialog: Field 'credentials' set from custom dialog: " + credentials);
 	}
 
+	private void showConfirmDialogAsync(Stage stage) {
+		DialogFuture<DialogResponse> future = Dialogs.showConfirmDialogAsync(stage, "Shown without blocking, are you ok with this?");
+		future.addListener(new Callback<DialogFuture<DialogResponse>, Void>() {
+			@Override
+			public Void call(DialogFuture<DialogResponse> done) {
+				System.out.println("Async ConfirmDialog Response: " + done.getNow(null));
+				return null;
+			}
+		});
+		System.out.println("Async ConfirmDialog shown");
+	}
+
 	public static void main(String[] args) {
 		launch(args);
 	}
@@ -0,0 +1,109 @@
+package javafx.scene.control;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+
+/**
+ * Opens a dialog from the callback of another dialog of the same owner and
+ * waits for it, as {@code Dialogs.showXxx} does. The nested dialog must show
+ * up right away: queued behind the dialog running the callback, it would
+ * never be shown and the callback would never return.
+ *
+ * Like {@link DialogsTest}, it runs without a testing framework and prints its
+ * result.
+ */
+public class NestedDialogTest extends Application {
+
+	// Pulses to wait for each step before giving up.
+	private static final int TIMEOUT_PULSES = 300;
+
+	private final StackPane outerContent = new StackPane();
+	private final StackPane nestedContent = new StackPane();
+	private boolean callbackReturned;
+	private DialogResponse nestedResponse;
+
+	@Override
+	public void start(final Stage stage) {
+		outerContent.getChildren().add(new Label("Outer dialog"));
+		nestedContent.getChildren().add(new Label("Nested dialog"));
+		stage.setScene(new Scene(new BorderPane(), 400, 300));
+		stage.show();
+
+		final DialogFuture<DialogResponse> outer = Dialogs.showCustomDialogAsync(stage, outerContent, "Outer",
+				"title", DialogOptions.OK, new Callback<Void, Void>() {
+					@Override
+					public Void call(Void param) {
+						nestedResponse = Dialogs.showCustomDialog(stage, nestedContent, "Nested", "title",
+								DialogOptions.OK, null);
+						callbackReturned = true;
+						return null;
+					}
+				});
+
+		new AnimationTimer() {
+			private int pulses;
+			private boolean outerAnswered;
+			private boolean nestedShown;
+
+			@Override
+			public void handle(long now) {
+				pulses++;
+				if (!outerAnswered && isShowing(outerContent)) {
+					outerAnswered = true;
+					pulses = 0;
+					// as a click would, outside of the pulse
+					pressDefaultButton(outerContent);
+				} else if (outerAnswered && !nestedShown && isShowing(nestedContent)) {
+					nestedShown = true;
+					pulses = 0;
+					pressDefaultButton(nestedContent);
+				} else if (outer.isDone() || pulses > TIMEOUT_PULSES) {
+					stop();
+					report(nestedShown, callbackReturned, outer.getNow(null));
+					Platform.exit();
+				}
+			}
+		}.start();
+	}
+
+	private static boolean isShowing(Node content) {
+		return content.getScene() != null && content.getScene().getWindow() != null
+				&& content.getScene().getWindow().isShowing();
+	}
+
+	private static void pressDefaultButton(Node content) {
+		for (Node node : content.getScene().getRoot().lookupAll(".button")) {
+			if (node instanceof Button && ((Button) node).isDefaultButton()) {
+				final Button button = (Button) node;
+				Platform.runLater(new Runnable() {
+					@Override
+					public void run() {
+						button.fire();
+					}
+				});
+				return;
+			}
+		}
+	}
+
+	private void report(boolean nestedShown, boolean callbackReturned, DialogResponse outerResponse) {
+		System.out.println("Nested dialog shown from the callback: " + nestedShown);
+		System.out.println("Nested dialog response: " + nestedResponse);
+		System.out.println("Callback returned: " + callbackReturned);
+		System.out.println("Outer dialog response: " + outerResponse);
+		boolean ok = nestedShown && callbackReturned && nestedResponse == DialogResponse.OK
+				&& outerResponse == DialogResponse.OK;
+		System.out.println(ok ? "OK" : "FAILED");
+	}
+
+	public static void main(String[] args) {
+		launch(args);
+	}
+}